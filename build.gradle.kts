@@ -16,6 +16,11 @@ java {
     }
 }
 
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 repositories {
 	maven {
 		url = uri("https://repo.papermc.io/repository/maven-public/")
@@ -29,10 +34,16 @@ repositories {
 dependencies {
 	compileOnly(libs.paperApi)
 	compileOnly(libs.placeholderApi)
+
+	"jmhImplementation"(libs.paperApi)
+	"jmhImplementation"(libs.placeholderApi)
+	"jmhImplementation"(libs.jmhCore)
+	"jmhAnnotationProcessor"(libs.jmhGenerator)
 }
 
 paper {
     main = "com.leontg77.timer.Main"
+    foliaSupported = true
     generateLibrariesJson = true
     apiVersion = libs.versions.paperApi.get().replace(Regex("\\-R\\d.\\d-SNAPSHOT"), "")
     authors = listOf("Jim (AnEnragedPigeon)", "LeonTG")
@@ -58,4 +69,29 @@ tasks {
         options.compilerArgs.addAll(listOf("-Xlint:all", "-Xlint:-processing"))
         options.encoding = "UTF-8"
     }
+
+    named<JavaCompile>(jmh.compileJavaTaskName) {
+        options.encoding = "UTF-8"
+    }
+
+    // Runs the benchmarks with the gc profiler, so allocation rates are reported alongside throughput.
+    // Pass -Pjmh.include=<regex> to run a subset.
+    register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH benchmarks."
+        dependsOn(jmh.classesTaskName)
+
+        val results = layout.buildDirectory.file("reports/jmh/results.json")
+        outputs.file(results)
+
+        classpath = jmh.runtimeClasspath
+        mainClass = "org.openjdk.jmh.Main"
+        args("-prof", "gc", "-rf", "json", "-rff", results.get().asFile.absolutePath)
+
+        providers.gradleProperty("jmh.include").orNull?.let { args(it) }
+
+        doFirst {
+            results.get().asFile.parentFile.mkdirs()
+        }
+    }
 }
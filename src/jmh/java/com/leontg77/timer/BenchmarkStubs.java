@@ -0,0 +1,122 @@
+package com.leontg77.timer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Minimal stand-ins for the server, so plugin classes can be benchmarked without a running server.
+ * <br>Every stub method does nothing and returns an empty value, or another stub for interface return types.
+ */
+public final class BenchmarkStubs {
+    private BenchmarkStubs() {
+    }
+
+    /**
+     * Install a stub server with the given number of online players, if no server is installed yet.
+     *
+     * @param players The number of online players.
+     * @return The installed server.
+     */
+    public static Server installServer(int players) {
+        if (Bukkit.getServer() == null) {
+            List<Player> online = new ArrayList<>(players);
+
+            for (int i = 0; i < players; i++) {
+                online.add(stub(Player.class, Map.of()));
+            }
+
+            Bukkit.setServer(stub(Server.class, Map.of("getOnlinePlayers", online)));
+        }
+
+        return Bukkit.getServer();
+    }
+
+    /**
+     * Create a stub plugin attached to the installed stub server.
+     *
+     * @return The plugin.
+     */
+    public static Plugin plugin() {
+        return stub(Plugin.class, Map.of("getServer", installServer(0)));
+    }
+
+    /**
+     * Create a stub implementation of an interface.
+     *
+     * @param type The interface to implement.
+     * @param answers Return values for specific method names.
+     * @return The stub.
+     */
+    public static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return self == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(self);
+                }
+                case "toString" -> {
+                    return "Stub" + type.getSimpleName();
+                }
+            }
+
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+
+            return defaultValue(method.getReturnType());
+        });
+
+        return type.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        } else if (type == String.class) {
+            return "";
+        } else if (type == Locale.class) {
+            return Locale.ROOT;
+        } else if (type == Logger.class) {
+            return Logger.getLogger("Timer");
+        } else if (type == Set.class) {
+            return Set.of();
+        } else if (type == Map.class) {
+            return Map.of();
+        } else if (Collection.class.isAssignableFrom(type)) {
+            return List.of();
+        } else if (type.isInterface()) {
+            return stub(type, Map.of());
+        }
+
+        return null;
+    }
+}
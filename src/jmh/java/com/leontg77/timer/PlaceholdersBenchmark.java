@@ -0,0 +1,64 @@
+package com.leontg77.timer;
+
+import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.runnable.TimerRegistry;
+import com.leontg77.timer.scheduler.BukkitTaskScheduler;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Placeholders#onPlaceholderRequest} against a running countdown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceholdersBenchmark {
+    @Param({"active_message", "active_remaining", "active_remaining_clock", "active_remaining_human"})
+    public String identifier;
+
+    private Placeholders placeholders;
+
+    @Setup
+    public void setup() {
+        TimerRegistry timers = new TimerRegistry(new BukkitTaskScheduler(BenchmarkStubs.plugin()));
+        TimerHandler handler = new TimerHandler() {
+            @Override
+            public void show(Component text) {
+            }
+
+            @Override
+            public void hide() {
+            }
+
+            @Override
+            public void setText(Component text) {
+            }
+        };
+
+        timers.create(TimerRegistry.DEFAULT_ID, Component.text("Benchmark"), Instant.now().plus(Duration.ofDays(1)),
+                      handler);
+        placeholders = new Placeholders(null, timers);
+    }
+
+    @Benchmark
+    public String request() {
+        return placeholders.onPlaceholderRequest(null, identifier);
+    }
+}
@@ -0,0 +1,57 @@
+package com.leontg77.timer.format;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link DurationFormatter}.
+ * <br>The cached benchmarks repeat the same second, as placeholder polling does, while the uncached ones format a
+ * new value every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DurationFormatterBenchmark {
+    private final DurationFormatter formatter = DurationFormatter.DEFAULT;
+    private final StringBuilder buffer = new StringBuilder(32);
+    private long seconds = 93784;
+
+    @Benchmark
+    public String friendlyCached() {
+        return formatter.friendly(93784);
+    }
+
+    @Benchmark
+    public String clockCached() {
+        return formatter.clock(93784);
+    }
+
+    @Benchmark
+    public String friendlyUncached() {
+        return formatter.friendly(seconds++);
+    }
+
+    @Benchmark
+    public String clockUncached() {
+        return formatter.clock(seconds++);
+    }
+
+    @Benchmark
+    public StringBuilder friendlyIntoBuffer() {
+        buffer.setLength(0);
+        formatter.appendFriendly(buffer, seconds++);
+        return buffer;
+    }
+}
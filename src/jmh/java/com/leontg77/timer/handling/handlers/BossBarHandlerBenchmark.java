@@ -0,0 +1,70 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.BenchmarkStubs;
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.scheduler.BukkitTaskScheduler;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link BossBarHandler} text and progress updates, shown to a stubbed audience of every online
+ * player.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BossBarHandlerBenchmark {
+    @Param({"1", "100"})
+    public int players;
+
+    private final Component[] texts = new Component[60];
+    private BossBarHandler handler;
+    private int second;
+
+    @Setup
+    public void setup() {
+        BenchmarkStubs.installServer(players);
+        BukkitTaskScheduler scheduler = new BukkitTaskScheduler(BenchmarkStubs.plugin());
+        AudienceIndex audiences = new AudienceIndex(Bukkit.getServer(), scheduler);
+
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = Component.text("Benchmark " + i + "s");
+        }
+
+        handler = new BossBarHandler(scheduler, audiences, new BossBarPool(1), TimerAudience.EVERYONE,
+                                     BossBar.Color.PINK, BossBar.Overlay.PROGRESS);
+        handler.show(texts[0]);
+    }
+
+    @Benchmark
+    public void setText() {
+        second = (second + 1) % texts.length;
+        handler.setText(texts[second]);
+        handler.flush();
+    }
+
+    @Benchmark
+    public void updateProgress() {
+        second = (second + 1) % texts.length;
+        handler.updateProgress(second, texts.length);
+        handler.flush();
+    }
+}
@@ -0,0 +1,77 @@
+package com.leontg77.timer.render;
+
+import com.leontg77.timer.format.DurationFormatter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link TimerTextRenderer} with a gradient message, against building the text from scratch.
+ * <br>The template benchmarks compare rendering a precompiled {@link TimerTemplate} against re-parsing the MiniMessage
+ * with the time substituted in every second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimerTextRendererBenchmark {
+    private static final String TEMPLATE = "<message> <gray>in</gray> <yellow><remaining_clock></yellow> "
+                                           + "<dark_gray>(<progress_pct>%)";
+
+    private Component message;
+    private TimerTextRenderer renderer;
+    private TimerTextRenderer templateRenderer;
+    private long remaining = 3600;
+
+    @Setup
+    public void setup() {
+        message = MiniMessage.miniMessage().deserialize("<gradient:gold:red><bold>Event starts in</bold></gradient>");
+        renderer = new TimerTextRenderer(message, DurationFormatter.DEFAULT);
+        templateRenderer = new TimerTextRenderer(message, DurationFormatter.DEFAULT, TimerTemplate.parse(TEMPLATE));
+    }
+
+    @Benchmark
+    public Component renderCached() {
+        return renderer.render(3600);
+    }
+
+    @Benchmark
+    public Component renderNewSecond() {
+        remaining = remaining == 0 ? 3600 : remaining - 1;
+        return renderer.render(remaining);
+    }
+
+    @Benchmark
+    public Component renderTemplateNewSecond() {
+        remaining = remaining == 0 ? 3600 : remaining - 1;
+        return templateRenderer.render(remaining, 3600);
+    }
+
+    @Benchmark
+    public Component parseTemplateUncached() {
+        remaining = remaining == 0 ? 3600 : remaining - 1;
+        return MiniMessage.miniMessage().deserialize(
+                TEMPLATE.replace("<message>", "<gradient:gold:red><bold>Event starts in</bold></gradient>")
+                        .replace("<remaining_clock>", DurationFormatter.DEFAULT.clock(remaining))
+                        .replace("<progress_pct>", String.valueOf(remaining * 100 / 3600)));
+    }
+
+    @Benchmark
+    public Component appendUncached() {
+        remaining = remaining == 0 ? 3600 : remaining - 1;
+        return message.append(Component.text(" " + DurationFormatter.DEFAULT.friendly(remaining)));
+    }
+}
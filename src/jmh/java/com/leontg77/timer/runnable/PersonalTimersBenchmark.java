@@ -0,0 +1,70 @@
+package com.leontg77.timer.runnable;
+
+import com.leontg77.timer.BenchmarkStubs;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link PersonalTimers#tick(long)} with many concurrent personal timers, which should stay well under
+ * a millisecond per tick.
+ * <br>{@code tickIdle} is the common case of a tick where no displayed second changes, {@code tickSecondChange}
+ * forces a new second for every timer on every call. Half of the timers are countdowns and half stopwatches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonalTimersBenchmark {
+    private static final long YEAR_NANOS = Duration.ofDays(365).toNanos();
+
+    @Param({"2000"})
+    private int timers;
+
+    private PersonalTimers personal;
+    private long start;
+    private long offset;
+
+    @Setup
+    public void setup() {
+        BenchmarkStubs.installServer(0);
+        personal = new PersonalTimers(BenchmarkStubs.stub(TaskScheduler.class, Map.of()));
+
+        for (int i = 0; i < timers; i++) {
+            Duration duration = i % 2 == 0 ? Duration.ofDays(365 * 10) : null;
+            personal.start(BenchmarkStubs.stub(Player.class, Map.of()), Component.text("Benchmark"), duration,
+                           BossBar.Color.PINK, BossBar.Overlay.PROGRESS);
+        }
+
+        start = System.nanoTime();
+    }
+
+    @Benchmark
+    public void tickIdle() {
+        personal.tick(start);
+    }
+
+    @Benchmark
+    public void tickSecondChange() {
+        offset = (offset + 1_000_000_000L) % YEAR_NANOS;
+        personal.tick(start + offset);
+    }
+}
@@ -0,0 +1,85 @@
+package com.leontg77.timer.runnable;
+
+import com.leontg77.timer.format.DurationFormatter;
+import com.leontg77.timer.handling.TimerHandler;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link TimerRunnable#run()}.
+ * <br>{@code runIdle} is the common case of a tick where the displayed second hasn't changed, {@code tickSecondChange}
+ * forces a new second on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimerRunnableBenchmark {
+    private static final long YEAR_NANOS = Duration.ofDays(365).toNanos();
+
+    private TimerRunnable timer;
+    private long start;
+    private long offset;
+
+    @Setup
+    public void setup() {
+        Instant endTime = Instant.now().plus(Duration.ofDays(365 * 10));
+        timer = new TimerRunnable("benchmark", Component.text("Benchmark"), endTime, new RecordingHandler(),
+                                  DurationFormatter.DEFAULT);
+        start = System.nanoTime();
+    }
+
+    @Benchmark
+    public void runIdle() {
+        timer.run();
+    }
+
+    @Benchmark
+    public void tickSecondChange() {
+        offset = (offset + 1_000_000_000L) % YEAR_NANOS;
+        timer.tick(start + offset, 0);
+    }
+
+    /**
+     * Handler that keeps the last update, so the work done for it can't be optimised away.
+     */
+    private static final class RecordingHandler implements TimerHandler {
+        private Component text;
+        private float progress;
+
+        @Override
+        public void show(Component text) {
+            this.text = text;
+        }
+
+        @Override
+        public void hide() {
+            this.text = null;
+        }
+
+        @Override
+        public void setText(Component text) {
+            this.text = text;
+        }
+
+        @Override
+        public void updateProgress(long remaining, long total) {
+            this.progress = (float) remaining / total;
+        }
+    }
+}
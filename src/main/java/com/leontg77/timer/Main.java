@@ -27,24 +27,75 @@
 
 package com.leontg77.timer;
 
+import com.leontg77.timer.action.ActionDispatcher;
+import com.leontg77.timer.action.Threshold;
+import com.leontg77.timer.action.ThresholdActions;
+import com.leontg77.timer.action.ThresholdConfig;
+import com.leontg77.timer.api.TimerService;
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
 import com.leontg77.timer.commands.TimerCommand;
+import com.leontg77.timer.format.DurationFormatter;
+import com.leontg77.timer.handling.DisplayType;
+import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.handling.handlers.ActionBarHandler;
+import com.leontg77.timer.handling.handlers.ActionBarResender;
 import com.leontg77.timer.handling.handlers.BossBarHandler;
+import com.leontg77.timer.handling.handlers.BossBarPool;
+import com.leontg77.timer.handling.handlers.CompositeHandler;
+import com.leontg77.timer.handling.handlers.SidebarHandler;
+import com.leontg77.timer.handling.handlers.TitleHandler;
+import com.leontg77.timer.render.Localization;
+import com.leontg77.timer.render.TimerTemplate;
+import com.leontg77.timer.runnable.PersonalTimers;
+import com.leontg77.timer.runnable.SmoothProgress;
+import com.leontg77.timer.runnable.TimerRegistry;
 import com.leontg77.timer.runnable.TimerRunnable;
+import com.leontg77.timer.schedule.ScheduleQueue;
+import com.leontg77.timer.schedule.TimerSchedule;
+import com.leontg77.timer.scheduler.FoliaTaskScheduler;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import com.leontg77.timer.storage.TimerStore;
+import com.leontg77.timer.sync.PluginMessageTransport;
+import com.leontg77.timer.sync.SyncTransport;
+import com.leontg77.timer.sync.TcpTransport;
+import com.leontg77.timer.sync.TimerSync;
+import com.leontg77.timer.transfer.TimerDefinition;
+import com.leontg77.timer.transfer.TimerTransfer;
 import io.papermc.paper.plugin.lifecycle.event.LifecycleEventManager;
 import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.translation.Translator;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.management.JMException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
@@ -55,28 +106,110 @@ import java.util.logging.Level;
 @SuppressWarnings("UnstableApiUsage")
 public class Main extends JavaPlugin implements Listener {
     public static final PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+    private static final int BOSS_BAR_POOL_SIZE = 16;
     private static Main instance;
 
     private BossBar.Color bossBarColor = BossBar.Color.PINK;
     private BossBar.Overlay bossBarOverlay = BossBar.Overlay.PROGRESS;
+    private Set<DisplayType> displays = EnumSet.of(DisplayType.BOSSBAR);
     private Placeholders expansion;
+    private TaskScheduler scheduler;
+    private AudienceIndex audiences;
+    private BossBarPool bossBars;
+    private ActionBarResender actionBars;
+    private TimerRegistry timers;
+    private PersonalTimers personalTimers;
+    private TimerStore store;
+    private TimerSync sync;
+    private ScheduleQueue schedules;
+    private ActionDispatcher actionDispatcher;
+    private ThresholdConfig actions = ThresholdConfig.empty();
 
     @Override
     public void onEnable() {
         Main.instance = this;
+        scheduler = TaskScheduler.create(this);
+        audiences = new AudienceIndex(getServer(), scheduler);
+        bossBars = new BossBarPool(BOSS_BAR_POOL_SIZE);
+        actionBars = new ActionBarResender(scheduler);
+        actionDispatcher = new ActionDispatcher(getServer(), scheduler, audiences);
+        timers = new TimerRegistry(scheduler);
+        personalTimers = new PersonalTimers(scheduler);
+        schedules = new ScheduleQueue(scheduler, new ScheduleQueue.Target() {
+            @Override
+            public void fire(@NotNull TimerSchedule schedule, @NotNull Instant endTime) {
+                getLogger().info("Starting scheduled timer " + schedule.id());
+                stopTimer(schedule.id());
+
+                try {
+                    createTimer(schedule.id(), schedule.message(), endTime, schedule.audience());
+                } catch(IllegalArgumentException ex) {
+                    getLogger().warning("Failed to start scheduled timer " + schedule.id() + ": " + ex.getMessage());
+                }
+            }
+
+            @Override
+            public void occurred(@NotNull TimerSchedule schedule, @NotNull Instant occurrence) {
+                store.saveSchedule(new TimerStore.SavedSchedule(schedule, occurrence));
+            }
+
+            @Override
+            public void finished(@NotNull TimerSchedule schedule) {
+                store.removeSchedule(schedule.id());
+            }
+        });
+        store = new TimerStore(getLogger(), getDataFolder().toPath().resolve("timers.journal"),
+                              getDataFolder().toPath().resolve("config.yml"));
         reloadConfig();
         getServer().getPluginManager().registerEvents(this, this);
+        getServer().getPluginManager().registerEvents(audiences, this);
+        getServer().getPluginManager().registerEvents(personalTimers, this);
+
+        try {
+            timers.getMetrics().register();
+        } catch(JMException ex) {
+            getLogger().log(Level.WARNING, "Failed to register metrics MBean", ex);
+        }
+
+        sync = createSync(getConfig());
+
+        if(sync != null) {
+            sync.start();
+            getServer().getPluginManager().registerEvents(sync, this);
+        }
+
+        getServer().getServicesManager().register(TimerService.class, new PluginTimerService(this), this,
+                                                  ServicePriority.Normal);
 
         LifecycleEventManager<Plugin> manager = getLifecycleManager();
         manager.registerEventHandler(LifecycleEvents.COMMANDS, event -> new TimerCommand(this, event.registrar()));
     }
 
+    @Override
+    public void onDisable() {
+        if(sync != null) {
+            sync.close();
+        }
+
+        if(timers != null) {
+            try {
+                timers.getMetrics().unregister();
+            } catch(JMException ex) {
+                getLogger().log(Level.WARNING, "Failed to unregister metrics MBean", ex);
+            }
+        }
+
+        if(store != null) {
+            store.close();
+        }
+    }
+
     @EventHandler
     public void onPluginEnable(PluginEnableEvent event) {
         switch (event.getPlugin().getName()) {
             case "PlaceholderAPI" -> {
                 getLogger().info("Registering PlaceholderAPI expansion");
-                expansion = new Placeholders(this);
+                expansion = new Placeholders(getPluginMeta(), timers);
                 expansion.register();
             }
         }
@@ -92,53 +225,419 @@ public class Main extends JavaPlugin implements Listener {
         }
     }
 
-    private TimerRunnable activeTimer = null;
+    /**
+     * Get the scheduler for the current server type.
+     *
+     * @return The task scheduler.
+     */
+    public TaskScheduler getTaskScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Get the registry of running timers.
+     *
+     * @return The timer registry.
+     */
+    public TimerRegistry getTimers() {
+        return timers;
+    }
+
+    /**
+     * Get the table of per-player timers.
+     *
+     * @return The personal timers.
+     */
+    public PersonalTimers getPersonalTimers() {
+        return personalTimers;
+    }
 
     /**
-     * Get the current runnable for the timer.
+     * Start a timer for one player on their own boss bar, replacing any personal timer they already have.
      *
-     * @return The current runnable.
+     * @param player The player.
+     * @param message The message to display.
+     * @param duration The length of the countdown, or null for a stopwatch.
      */
-    public @Nullable TimerRunnable getActiveTimer() {
-        if(activeTimer != null && !activeTimer.isRunning()) {
-            activeTimer = null;
+    public void startPersonalTimer(Player player, Component message, @Nullable Duration duration) {
+        personalTimers.start(player, message, duration, bossBarColor, bossBarOverlay);
+    }
+
+    /**
+     * Get a running timer by id.
+     *
+     * @param id The id of the timer.
+     * @return The timer, or null if it isn't running.
+     */
+    public @Nullable TimerRunnable getTimer(String id) {
+        TimerRunnable timer = timers.get(id);
+        return timer != null && timer.isRunning() ? timer : null;
+    }
+
+    public TimerRunnable createTimer(String id, Component message, @Nullable Instant endTime) {
+        return createTimer(id, message, endTime, TimerAudience.EVERYONE);
+    }
+
+    /**
+     * Start a timer, and announce it to other servers when sync is enabled.
+     *
+     * @param id The id of the timer.
+     * @param message The timer message.
+     * @param endTime The time the timer ends, or null for an infinite timer.
+     * @param audience The players to show the timer to.
+     * @return The timer.
+     * @throws IllegalStateException If a timer with the given id is already running.
+     * @throws IllegalArgumentException If sync is enabled and the timer is too large to announce.
+     */
+    public TimerRunnable createTimer(String id, Component message, @Nullable Instant endTime,
+                                     TimerAudience audience) {
+        if(sync != null) {
+            sync.checkStart(id, message, audience);
+        }
+
+        TimerRunnable timer = startTimer(id, message, endTime, audience);
+
+        if(sync != null) {
+            sync.publishStart(id, message, endTime, audience);
         }
 
-        return activeTimer;
+        return timer;
     }
 
-    public TimerRunnable createTimer(Component message, @Nullable Instant endTime) {
-        if(activeTimer != null) {
-            throw new IllegalStateException("Timer is already running");
+    private TimerRunnable startTimer(String id, Component message, @Nullable Instant endTime,
+                                     TimerAudience audience) {
+        if(getTimer(id) != null) {
+            throw new IllegalStateException("Timer " + id + " is already running");
         }
 
-        getConfig().set("timer.last-end-time", endTime != null ? endTime.getEpochSecond() : null);
-        getConfig().setRichMessage("timer.last-message", message);
-        saveConfig();
+        timers.cancel(id);
+        store.save(new TimerStore.SavedTimer(id, message, endTime, audience));
+
+        List<Threshold> thresholds = endTime != null ? actions.get(id) : null;
+
+        return timers.create(id, message, endTime, createHandler(audience),
+                             thresholds != null ? new ThresholdActions(thresholds, actionDispatcher, audience) : null);
+    }
+
+    /**
+     * Create the handler for a new timer, showing it on every configured display.
+     *
+     * @param audience The players to show the timer to.
+     * @return The handler.
+     */
+    private TimerHandler createHandler(TimerAudience audience) {
+        List<TimerHandler> handlers = new ArrayList<>();
+
+        for(DisplayType display : displays) {
+            handlers.add(switch (display) {
+                case BOSSBAR -> new BossBarHandler(scheduler, audiences, bossBars, audience, bossBarColor,
+                                                   bossBarOverlay);
+                case ACTIONBAR -> new ActionBarHandler(scheduler, audiences, actionBars, audience);
+                case TITLE -> new TitleHandler(scheduler, audiences, audience);
+                case SIDEBAR -> new SidebarHandler(scheduler, audiences, audience);
+            });
+        }
+
+        return handlers.size() == 1 ? handlers.getFirst() : new CompositeHandler(handlers);
+    }
+
+    /**
+     * Get the queue of timer schedules.
+     *
+     * @return The schedule queue.
+     */
+    public ScheduleQueue getSchedules() {
+        return schedules;
+    }
+
+    /**
+     * Add a schedule, replacing any schedule with the same id.
+     *
+     * @param schedule The schedule.
+     */
+    public void addSchedule(TimerSchedule schedule) {
+        store.saveSchedule(new TimerStore.SavedSchedule(schedule, null));
+        schedules.add(schedule, null);
+    }
 
-        activeTimer = new TimerRunnable(message, endTime, new BossBarHandler(bossBarColor, bossBarOverlay));
-        return activeTimer;
+    /**
+     * Remove a schedule, leaving any timer it started running.
+     *
+     * @param id The id of the schedule.
+     * @return True if a schedule was removed.
+     */
+    public boolean removeSchedule(String id) {
+        store.removeSchedule(id);
+        return schedules.remove(id);
+    }
+
+    /**
+     * Change who a running timer is shown to.
+     *
+     * @param id The id of the timer.
+     * @param audience The new audience.
+     * @return True if the audience was changed, false if the timer isn't running.
+     */
+    public boolean setAudience(String id, TimerAudience audience) {
+        if(!changeAudience(id, audience)) {
+            return false;
+        }
+
+        if(sync != null) {
+            sync.publishAudience(id, audience);
+        }
+
+        return true;
+    }
+
+    private boolean changeAudience(String id, TimerAudience audience) {
+        TimerRunnable timer = getTimer(id);
+
+        if(timer == null) {
+            return false;
+        }
+
+        timer.getHandler().setAudience(audience);
+
+        if(timer.getActions() != null) {
+            timer.getActions().setAudience(audience);
+        }
+
+        store.save(new TimerStore.SavedTimer(id, timer.getMessage(), timer.getEndTime(), audience,
+                                             timer.getPausedRemaining()));
+        return true;
+    }
+
+    /**
+     * Pause a running countdown, leaving it frozen on display with the same bars.
+     *
+     * @param id The id of the timer.
+     * @return True if the timer was paused, false if no countdown with that id is running or it's already paused.
+     */
+    public boolean pauseTimer(String id) {
+        if(!timers.pause(id)) {
+            return false;
+        }
+
+        adjusted(id, true);
+        return true;
+    }
+
+    /**
+     * Resume a paused countdown from where it was paused.
+     *
+     * @param id The id of the timer.
+     * @return True if the timer was resumed, false if no timer with that id is paused.
+     */
+    public boolean resumeTimer(String id) {
+        if(!timers.resume(id)) {
+            return false;
+        }
+
+        adjusted(id, true);
+        return true;
+    }
+
+    /**
+     * Add time to a running countdown in place, or take it away if negative.
+     *
+     * @param id The id of the timer.
+     * @param time The time to add.
+     * @return True if the time was changed, false if no countdown with that id is running.
+     */
+    public boolean addTime(String id, Duration time) {
+        if(!timers.addTime(id, time)) {
+            return false;
+        }
+
+        adjusted(id, true);
+        return true;
+    }
+
+    /**
+     * Set the time left on a running countdown in place.
+     *
+     * @param id The id of the timer.
+     * @param remaining The new time left.
+     * @return True if the time was changed, false if no countdown with that id is running.
+     */
+    public boolean setTime(String id, Duration remaining) {
+        if(!timers.setRemaining(id, remaining)) {
+            return false;
+        }
+
+        adjusted(id, true);
+        return true;
+    }
+
+    /**
+     * Save the state of a timer after it was paused, resumed or given a new end time, and optionally announce it.
+     *
+     * @param id The id of the timer.
+     * @param announce Whether to announce the change to other servers when sync is enabled.
+     */
+    private void adjusted(String id, boolean announce) {
+        TimerRunnable timer = timers.get(id);
+
+        if(timer == null) {
+            return;
+        }
+
+        TimerStore.SavedTimer saved = store.getTimer(id);
+
+        if(saved != null) {
+            store.save(new TimerStore.SavedTimer(id, saved.message(), timer.getEndTime(), saved.audience(),
+                                                 timer.getPausedRemaining()));
+        }
+
+        if(announce && sync != null) {
+            if(timer.isPaused()) {
+                sync.publishPause(id, timer.getPausedRemaining());
+            } else {
+                sync.publishAdjust(id, timer.getEndTime());
+            }
+        }
+    }
+
+    /**
+     * Cancel a running timer and forget its saved state.
+     *
+     * @param id The id of the timer.
+     * @return True if a timer was cancelled, false if it wasn't running.
+     */
+    public boolean cancelTimer(String id) {
+        boolean cancelled = stopTimer(id);
+
+        if(sync != null) {
+            sync.publishCancel(id);
+        }
+
+        return cancelled;
+    }
+
+    private boolean stopTimer(String id) {
+        boolean cancelled = getTimer(id) != null;
+        timers.cancel(id);
+        store.remove(id);
+
+        return cancelled;
     }
 
     public void setStyle(BossBar.Color color, BossBar.Overlay overlay) {
         bossBarColor = color;
         bossBarOverlay = overlay;
 
-        getConfig().set("bossbar.color", color.name());
-        getConfig().set("bossbar.style", overlay.name());
-        saveConfig();
+        store.saveStyle(new TimerStore.SavedStyle(color, overlay));
 
-        if(activeTimer != null && activeTimer.getHandler() instanceof BossBarHandler bossBarHandler) {
-            bossBarHandler.setStyle(color, overlay);
+        for(TimerRunnable timer : timers.getTimers()) {
+            timer.getHandler().forEach(BossBarHandler.class, handler -> handler.setStyle(color, overlay));
         }
+
+        personalTimers.setStyle(color, overlay);
+    }
+
+    /**
+     * Import the timers in a file, replacing running timers with the same ids.
+     * <br>The file is read off the main thread, then every timer is started in one step on the next tick. Timers
+     * which have already ended are skipped. Every timer shares the boss bar style, so the last style in the file
+     * wins.
+     *
+     * @param file The file, ending with .jsonl or .csv.
+     * @return The result, completed once the timers have been started.
+     */
+    public CompletableFuture<TimerTransfer.ImportResult> importTimers(Path file) {
+        CompletableFuture<TimerTransfer.ImportResult> future = new CompletableFuture<>();
+
+        scheduler.runAsync(() -> {
+            TimerTransfer.ImportResult result;
+
+            try {
+                result = TimerTransfer.read(file);
+            } catch (IOException | RuntimeException ex) {
+                future.completeExceptionally(ex);
+                return;
+            }
+
+            scheduler.runLater(() -> {
+                try {
+                    applyImport(result.timers());
+                    future.complete(result);
+                } catch (RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                }
+            }, 1L);
+        });
+
+        return future;
+    }
+
+    private void applyImport(List<TimerDefinition> definitions) {
+        BossBar.Color color = bossBarColor;
+        BossBar.Overlay overlay = bossBarOverlay;
+
+        for(TimerDefinition definition : definitions) {
+            color = definition.color() != null ? definition.color() : color;
+            overlay = definition.overlay() != null ? definition.overlay() : overlay;
+        }
+
+        if(color != bossBarColor || overlay != bossBarOverlay) {
+            setStyle(color, overlay);
+        }
+
+        for(TimerDefinition definition : definitions) {
+            stopTimer(definition.id());
+
+            try {
+                createTimer(definition.id(), definition.message(), definition.endTime(), definition.audience());
+            } catch(IllegalArgumentException ex) {
+                getLogger().warning("Failed to start imported timer " + definition.id() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Export the running timers to a file, replacing it.
+     * <br>The timers are snapshot on the calling thread and written off the main thread.
+     *
+     * @param file The file, ending with .jsonl or .csv.
+     * @return The number of timers exported, completed once the file has been written.
+     */
+    public CompletableFuture<Integer> exportTimers(Path file) {
+        List<TimerDefinition> definitions = new ArrayList<>();
+
+        for(TimerStore.SavedTimer saved : store.getTimers()) {
+            if(getTimer(saved.id()) != null) {
+                // Paused timers are exported as if resumed now, as the file has no paused state.
+                Instant endTime = saved.paused() != null ? Instant.now().plus(saved.paused()) : saved.endTime();
+                definitions.add(new TimerDefinition(saved.id(), saved.message(), endTime, saved.audience(),
+                                                    bossBarColor, bossBarOverlay));
+            }
+        }
+
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        scheduler.runAsync(() -> {
+            try {
+                TimerTransfer.write(file, definitions);
+                future.complete(definitions.size());
+            } catch (IOException | RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+
+        return future;
     }
 
     @Override
     public void reloadConfig() {
+        if(store != null) {
+            store.awaitWrites();
+        }
+
         super.reloadConfig();
 
-        if(activeTimer != null) {
-            throw new IllegalStateException("Cannot reload while timer is running");
+        if(timers != null && !timers.isEmpty()) {
+            throw new IllegalStateException("Cannot reload while timers are running");
         }
 
         if (getConfig().getConfigurationSection("bossbar") == null) {
@@ -152,22 +651,340 @@ public class Main extends JavaPlugin implements Listener {
         try {
             bossBarColor = BossBar.Color.valueOf(config.getString("bossbar.color", "pink").toUpperCase());
             bossBarOverlay = BossBar.Overlay.valueOf(config.getString("bossbar.style", "progress").toUpperCase());
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load bossbar style", ex);
+        }
+
+        try {
+            displays = loadDisplays(config);
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load timer displays, using the boss bar", ex);
+            displays = EnumSet.of(DisplayType.BOSSBAR);
+        }
+
+        try {
+            actions = ThresholdConfig.load(config.getConfigurationSection("actions"));
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load timer actions", ex);
+            actions = ThresholdConfig.empty();
+        }
+
+        try {
+            timers.setSmoothProgress(new SmoothProgress(config.getInt("bossbar.smooth-rate", 0),
+                                                        config.getInt("bossbar.packet-budget", 2000)));
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load smooth progress settings, disabling it", ex);
+            timers.setSmoothProgress(SmoothProgress.DISABLED);
+        }
+
+        try {
+            timers.setFormatter(loadFormatter(config.getConfigurationSection("format")));
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load time format, using defaults", ex);
+            timers.setFormatter(DurationFormatter.DEFAULT);
+        }
+
+        personalTimers.setFormatter(timers.getFormatter());
+
+        try {
+            String template = config.getString("template");
+            timers.setTemplate(template != null ? TimerTemplate.parse(template) : null);
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load timer template, using the default layout", ex);
+            timers.setTemplate(null);
+        }
+
+        personalTimers.setTemplate(timers.getTemplate());
+
+        try {
+            timers.setLocalization(loadLocalization(config));
+        } catch(Exception ex) {
+            getLogger().log(Level.WARNING,"Failed to load locales, showing every player the default", ex);
+            timers.setLocalization(Localization.NONE);
+        }
+
+        personalTimers.setLocalization(timers.getLocalization());
+
+        migrateConfigTimers(config);
+
+        List<TimerStore.SavedTimer> savedTimers = store.load();
+        TimerStore.SavedStyle savedStyle = store.getStyle();
+
+        if(savedStyle != null) {
+            bossBarColor = savedStyle.color();
+            bossBarOverlay = savedStyle.overlay();
+        }
+
+        for(TimerStore.SavedTimer saved : savedTimers) {
+            String id = saved.id();
+
+            // Started while the journal was loading, so it's running and saved already.
+            if(getTimer(id) != null) {
+                continue;
+            }
+
+            try {
+                if(saved.paused() != null) {
+                    getLogger().info("Restoring paused timer " + id + " \"" + plain.serialize(saved.message()) + "\"");
+                    startTimer(id, saved.message(), Instant.now().plus(saved.paused()), saved.audience());
+                    timers.pause(id);
+                    adjusted(id, false);
+                } else if(saved.endTime() != null && saved.endTime().isAfter(Instant.now())) {
+                    getLogger().info("Resuming saved timer " + id + " \"" + plain.serialize(saved.message()) + "\"");
+                    startTimer(id, saved.message(), saved.endTime(), saved.audience());
+                } else {
+                    store.remove(id);
+                }
+            } catch(Exception ex) {
+                getLogger().log(Level.WARNING,"Failed to resume saved timer " + id, ex);
+            }
+        }
+
+        schedules.clear();
+
+        for(TimerStore.SavedSchedule saved : store.getSchedules()) {
+            try {
+                schedules.add(saved.schedule(), saved.lastOccurrence());
+            } catch(Exception ex) {
+                getLogger().log(Level.WARNING,"Failed to load schedule " + saved.schedule().id(), ex);
+            }
+        }
+    }
+
+    /**
+     * Write the config in the background, see {@link TimerStore}.
+     */
+    @Override
+    public void saveConfig() {
+        store.saveConfig(getConfig().saveToString());
+    }
+
+    /**
+     * Create the cross-server sync described by the sync section of the config.
+     * <br>Changes received from other servers replace the local timer, and aren't announced again.
+     *
+     * @param config The config to read.
+     * @return The sync, or null if it's disabled.
+     */
+    private @Nullable TimerSync createSync(FileConfiguration config) {
+        SyncTransport transport;
+
+        switch (config.getString("sync.transport", "none").toLowerCase(Locale.ROOT)) {
+            case "plugin-messaging" -> transport = new PluginMessageTransport(this);
+            case "tcp" -> {
+                String secret = config.getString("sync.secret", "");
+
+                if(secret.isBlank()) {
+                    getLogger().warning("The tcp sync transport requires sync.secret to be set, timers won't be "
+                                                + "synced");
+                    return null;
+                }
+
+                List<InetSocketAddress> peers = new ArrayList<>();
 
-            if(config.getConfigurationSection("timer") != null) {
-                long endTimestamp = config.getLong("timer.last-end-time");
-                Component message = config.getRichMessage("timer.last-message");
+                for(String peer : config.getStringList("sync.peers")) {
+                    int separator = peer.lastIndexOf(':');
 
-                if(endTimestamp > 0 && message != null) {
-                    Instant endTime = Instant.ofEpochSecond(endTimestamp);
+                    try {
+                        if(separator <= 0) {
+                            throw new IllegalArgumentException("expected host:port");
+                        }
 
-                    if(endTime.isAfter(Instant.now())) {
-                        getLogger().info("Resuming saved timer \"" + plain.serialize(message) + "\"");
-                        createTimer(message, endTime);
+                        peers.add(new InetSocketAddress(peer.substring(0, separator),
+                                                        Integer.parseInt(peer.substring(separator + 1))));
+                    } catch(IllegalArgumentException ex) {
+                        getLogger().warning("Invalid sync peer " + peer + ", skipping it: " + ex.getMessage());
                     }
                 }
+
+                InetSocketAddress bind;
+
+                try {
+                    bind = new InetSocketAddress(config.getString("sync.bind", "127.0.0.1"),
+                                                 config.getInt("sync.port", 25590));
+                } catch(IllegalArgumentException ex) {
+                    getLogger().warning("Invalid sync.port, timers won't be synced: " + ex.getMessage());
+                    return null;
+                }
+
+                transport = new TcpTransport(getLogger(), bind, peers, secret);
             }
-        } catch(Exception ex) {
-            getLogger().log(Level.WARNING,"Failed to resume saved timer", ex);
+            case "none" -> {
+                return null;
+            }
+            default -> {
+                getLogger().warning("Unknown sync transport " + config.getString("sync.transport")
+                                            + ", timers won't be synced");
+                return null;
+            }
+        }
+
+        return new TimerSync(getLogger(), scheduler, transport, new TimerSync.Target() {
+            @Override
+            public void start(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                              @NotNull TimerAudience audience) {
+                stopTimer(id);
+
+                if(endTime == null || endTime.isAfter(Instant.now())) {
+                    startTimer(id, message, endTime, audience);
+                }
+            }
+
+            @Override
+            public void cancel(@NotNull String id) {
+                stopTimer(id);
+            }
+
+            @Override
+            public void setAudience(@NotNull String id, @NotNull TimerAudience audience) {
+                changeAudience(id, audience);
+            }
+
+            @Override
+            public void pause(@NotNull String id, @NotNull Duration remaining) {
+                timers.pause(id);
+
+                if(timers.setRemaining(id, remaining)) {
+                    adjusted(id, false);
+                }
+            }
+
+            @Override
+            public void adjust(@NotNull String id, @NotNull Instant endTime) {
+                timers.resume(id);
+
+                if(timers.setRemaining(id, Duration.between(Instant.now(), endTime))) {
+                    adjusted(id, false);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the displays listed in the config.
+     *
+     * @param config The config to read.
+     * @return The displays, never empty.
+     */
+    private Set<DisplayType> loadDisplays(FileConfiguration config) {
+        Set<DisplayType> loaded = EnumSet.noneOf(DisplayType.class);
+
+        for(String name : config.getStringList("display")) {
+            DisplayType display = DisplayType.parse(name);
+
+            if(display == DisplayType.SIDEBAR && scheduler instanceof FoliaTaskScheduler) {
+                getLogger().warning("The sidebar display isn't supported on Folia, ignoring it");
+                continue;
+            }
+
+            loaded.add(display);
+        }
+
+        return loaded.isEmpty() ? EnumSet.of(DisplayType.BOSSBAR) : loaded;
+    }
+
+    /**
+     * Create the duration formatter described by a format section of the config.
+     *
+     * @param format The format section, or null for the default format.
+     * @return The formatter.
+     */
+    private DurationFormatter loadFormatter(@Nullable ConfigurationSection format) {
+        if(format == null) {
+            return DurationFormatter.DEFAULT;
+        }
+
+        return new DurationFormatter(format.getString("days", "{n}d"),
+                                     format.getString("hours", "{n}h"),
+                                     format.getString("minutes", "{n}m"),
+                                     format.getString("seconds", "{n}s"),
+                                     format.getString("separator", " "),
+                                     format.getString("clock-separator", ":"));
+    }
+
+    /**
+     * Create the localization described by the messages and locales sections of the config.
+     *
+     * @param config The config to read.
+     * @return The localization.
+     * @throws IllegalArgumentException If a locale is invalid.
+     */
+    private Localization loadLocalization(FileConfiguration config) {
+        ConfigurationSection locales = config.getConfigurationSection("locales");
+        Map<Locale, Localization.Entry> entries = new HashMap<>();
+
+        if(locales != null) {
+            for(String key : locales.getKeys(false)) {
+                Locale locale = Translator.parseLocale(key);
+                ConfigurationSection section = locales.getConfigurationSection(key);
+
+                if(locale == null || section == null) {
+                    throw new IllegalArgumentException("Invalid locale " + key);
+                }
+
+                ConfigurationSection format = section.getConfigurationSection("format");
+                entries.put(locale, new Localization.Entry(format != null ? loadFormatter(format) : null,
+                                                           loadMessages(section.getConfigurationSection("messages"))));
+            }
+        }
+
+        return new Localization(loadMessages(config.getConfigurationSection("messages")), entries);
+    }
+
+    /**
+     * Parse a section of MiniMessage messages by key.
+     *
+     * @param section The section, or null if there isn't one.
+     * @return The messages.
+     */
+    private Map<String, Component> loadMessages(@Nullable ConfigurationSection section) {
+        Map<String, Component> messages = new HashMap<>();
+
+        if(section != null) {
+            for(String key : section.getKeys(false)) {
+                messages.put(key, MiniMessage.miniMessage().deserialize(section.getString(key, "")));
+            }
+        }
+
+        return messages;
+    }
+
+    /**
+     * Move timers saved in the config by older versions into the timer store.
+     *
+     * @param config The config to migrate.
+     */
+    private void migrateConfigTimers(FileConfiguration config) {
+        ConfigurationSection legacy = config.getConfigurationSection("timer");
+        ConfigurationSection saved = config.getConfigurationSection("timers");
+
+        if(legacy == null && saved == null) {
+            return;
+        }
+
+        store.load();
+
+        if(legacy != null) {
+            migrateConfigTimer(TimerRegistry.DEFAULT_ID, legacy.getLong("last-end-time"),
+                               legacy.getRichMessage("last-message"));
+        }
+
+        if(saved != null) {
+            for(String id : saved.getKeys(false)) {
+                migrateConfigTimer(id, saved.getLong(id + ".end-time"), saved.getRichMessage(id + ".message"));
+            }
+        }
+
+        config.set("timer", null);
+        config.set("timers", null);
+        saveConfig();
+    }
+
+    private void migrateConfigTimer(String id, long endTimestamp, @Nullable Component message) {
+        if(message != null) {
+            store.save(new TimerStore.SavedTimer(id, message,
+                                                 endTimestamp > 0 ? Instant.ofEpochSecond(endTimestamp) : null,
+                                                 TimerAudience.EVERYONE));
         }
     }
 
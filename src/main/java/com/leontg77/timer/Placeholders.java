@@ -1,6 +1,8 @@
 package com.leontg77.timer;
 
-import com.leontg77.timer.runnable.TimerRunnable;
+import com.leontg77.timer.runnable.TimerRegistry;
+import com.leontg77.timer.runnable.TimerSnapshot;
+import io.papermc.paper.plugin.configuration.PluginMeta;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -11,18 +13,24 @@ import org.jetbrains.annotations.NotNull;
  */
 @SuppressWarnings("UnstableApiUsage")
 public class Placeholders extends PlaceholderExpansion {
-    private final Main plugin;
+    private static final String ACTIVE_ALIAS = "active";
+
+    private final PluginMeta meta;
+    private final TimerRegistry timers;
 
     /**
      * Since we register the expansion inside our own plugin, we
      * can simply use this method here to get an instance of our
      * plugin.
      *
-     * @param plugin
-     *        The instance of our plugin.
+     * @param meta
+     *        The meta of our plugin.
+     * @param timers
+     *        The registry of running timers.
      */
-    public Placeholders(Main plugin) {
-        this.plugin = plugin;
+    public Placeholders(PluginMeta meta, TimerRegistry timers) {
+        this.meta = meta;
+        this.timers = timers;
     }
 
     /**
@@ -56,7 +64,7 @@ public class Placeholders extends PlaceholderExpansion {
      */
     @Override
     public @NotNull String getAuthor() {
-        return plugin.getPluginMeta().getAuthors().toString();
+        return meta.getAuthors().toString();
     }
 
     /**
@@ -83,13 +91,16 @@ public class Placeholders extends PlaceholderExpansion {
      */
     @Override
     public @NotNull String getVersion() {
-        return plugin.getPluginMeta().getVersion();
+        return meta.getVersion();
     }
 
     /**
      * This is the method called when a placeholder with our identifier
      * is found and needs a value.
-     * <br>We specify the value identifier in this method.
+     * <br>Identifiers take the form {@code <timer id>_<value>}, where
+     * {@code active} refers to the default timer.
+     * <br>Values are read from the timer's published snapshot, so this
+     * is safe to call from async threads.
      * <br>Since version 2.9.1 can you use OfflinePlayers in your requests.
      *
      * @param  player
@@ -101,39 +112,59 @@ public class Placeholders extends PlaceholderExpansion {
      */
     @Override
     public String onPlaceholderRequest(Player player, @NotNull String identifier) {
-        TimerRunnable activeTimer = plugin.getActiveTimer();
+        for (Value value : Value.VALUES) {
+            if (!identifier.endsWith(value.suffix) || identifier.length() == value.suffix.length()) {
+                continue;
+            }
+
+            timers.getMetrics().recordPlaceholder(identifier);
+
+            String id = identifier.substring(0, identifier.length() - value.suffix.length());
+            TimerSnapshot snapshot = timers.getSnapshot(id.equals(ACTIVE_ALIAS) ? TimerRegistry.DEFAULT_ID : id);
+
+            if (snapshot == null) {
+                return "";
+            }
+
+            return getValue(snapshot, value);
+        }
+
+        return null;
+    }
+
+    private String getValue(TimerSnapshot snapshot, Value value) {
+        if (value == Value.MESSAGE) {
+            return snapshot.message();
+        }
 
-        if(activeTimer == null) {
+        if (!snapshot.countdown()) {
             return "";
         }
 
-		switch (identifier) {
-			case "active_message" -> {
-				return Main.plain.serialize(activeTimer.getMessage());
-			}
-			case "active_remaining" -> {
-				if (!activeTimer.isCountdown()) {
-					return "";
-				}
-
-				return String.valueOf(activeTimer.getRemaining());
-			}
-			case "active_remaining_clock" -> {
-				if (!activeTimer.isCountdown()) {
-					return "";
-				}
-
-				return activeTimer.getClockRemaining();
-			}
-			case "active_remaining_human" -> {
-				if (!activeTimer.isCountdown()) {
-					return "";
-				}
-
-				return activeTimer.getFriendlyRemaining();
-			}
-		}
-
-		return null;
+        return switch (value) {
+            case REMAINING -> snapshot.remainingText();
+            case REMAINING_CLOCK -> snapshot.remainingClock();
+            case REMAINING_HUMAN -> snapshot.remainingHuman();
+            default -> null;
+        };
+    }
+
+    /**
+     * Values that can be requested for a timer, longest suffix first so
+     * that {@code _remaining} doesn't shadow the more specific values.
+     */
+    private enum Value {
+        REMAINING_CLOCK("_remaining_clock"),
+        REMAINING_HUMAN("_remaining_human"),
+        REMAINING("_remaining"),
+        MESSAGE("_message");
+
+        private static final Value[] VALUES = values();
+
+        private final String suffix;
+
+        Value(String suffix) {
+            this.suffix = suffix;
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.leontg77.timer;
+
+import com.leontg77.timer.api.TimerService;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.runnable.TimerRunnable;
+import com.leontg77.timer.runnable.TimerSnapshot;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The {@link TimerService} registered by the plugin.
+ */
+final class PluginTimerService implements TimerService {
+    private final Main plugin;
+
+    PluginTimerService(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void startTimer(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                           @NotNull TimerAudience audience) {
+        plugin.createTimer(id, message, endTime, audience);
+    }
+
+    @Override
+    public boolean cancelTimer(@NotNull String id) {
+        return plugin.cancelTimer(id);
+    }
+
+    @Override
+    public boolean pauseTimer(@NotNull String id) {
+        return plugin.pauseTimer(id);
+    }
+
+    @Override
+    public boolean resumeTimer(@NotNull String id) {
+        return plugin.resumeTimer(id);
+    }
+
+    @Override
+    public boolean addTime(@NotNull String id, @NotNull Duration time) {
+        return plugin.addTime(id, time);
+    }
+
+    @Override
+    public boolean setTime(@NotNull String id, @NotNull Duration remaining) {
+        return plugin.setTime(id, remaining);
+    }
+
+    @Override
+    public @Nullable TimerSnapshot getTimer(@NotNull String id) {
+        return plugin.getTimers().getSnapshot(id);
+    }
+
+    @Override
+    public @NotNull Collection<TimerSnapshot> getTimers() {
+        return plugin.getTimers().getTimers().stream()
+                .map(TimerRunnable::getSnapshot)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void startPersonalTimer(@NotNull Player player, @NotNull Component message, @Nullable Duration duration) {
+        plugin.startPersonalTimer(player, message, duration);
+    }
+
+    @Override
+    public @Nullable Duration stopPersonalTimer(@NotNull Player player) {
+        return plugin.getPersonalTimers().stop(player);
+    }
+
+    @Override
+    public @Nullable Duration getPersonalTimer(@NotNull Player player) {
+        return plugin.getPersonalTimers().get(player);
+    }
+}
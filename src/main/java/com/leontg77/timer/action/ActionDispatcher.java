@@ -0,0 +1,85 @@
+package com.leontg77.timer.action;
+
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Runs the actions reached by a timer update.
+ * <br>Everything reached in one update is dispatched as a batch: all commands in one task on the global scheduler,
+ * and all player actions in one task per player in the audience. The audience members come from the
+ * {@link AudienceIndex}, so only players in the audience are visited.
+ */
+public final class ActionDispatcher {
+    private final Server server;
+    private final TaskScheduler scheduler;
+    private final AudienceIndex audiences;
+
+    public ActionDispatcher(Server server, TaskScheduler scheduler, AudienceIndex audiences) {
+        this.server = server;
+        this.scheduler = scheduler;
+        this.audiences = audiences;
+    }
+
+    /**
+     * Dispatch a batch of actions.
+     *
+     * @param timerId The id of the timer.
+     * @param remaining The remaining seconds of the timer.
+     * @param audience The players the timer is shown to.
+     * @param actions The actions.
+     */
+    public void dispatch(@NotNull String timerId, long remaining, @NotNull TimerAudience audience,
+                         @NotNull List<TimerAction> actions) {
+        List<String> commands = new ArrayList<>();
+        List<TimerAction> playerActions = new ArrayList<>();
+
+        for (TimerAction action : actions) {
+            if (action instanceof TimerAction.RunCommand(String command)) {
+                commands.add(command.replace("{id}", timerId).replace("{remaining}", String.valueOf(remaining)));
+            } else {
+                playerActions.add(action);
+            }
+        }
+
+        if (!commands.isEmpty()) {
+            scheduler.runLater(() -> commands.forEach(this::runCommand), 1L);
+        }
+
+        if (playerActions.isEmpty()) {
+            return;
+        }
+
+        for (Player player : audiences.getMembers(audience)) {
+            scheduler.runForEntity(player, () -> playerActions.forEach(action -> apply(player, action)));
+        }
+    }
+
+    private void runCommand(String command) {
+        try {
+            server.dispatchCommand(server.getConsoleSender(), command);
+        } catch (Exception ex) {
+            server.getLogger().log(Level.WARNING, "Failed to run timer action command " + command, ex);
+        }
+    }
+
+    private static void apply(Player player, TimerAction action) {
+        switch (action) {
+            case TimerAction.PlaySound(Sound sound) -> player.playSound(sound, Sound.Emitter.self());
+            case TimerAction.ShowTitle(Title title) -> player.showTitle(title);
+            case TimerAction.SendMessage(Component message) -> player.sendMessage(message);
+            case TimerAction.RunCommand ignored -> {
+            }
+        }
+    }
+}
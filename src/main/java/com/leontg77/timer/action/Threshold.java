@@ -0,0 +1,12 @@
+package com.leontg77.timer.action;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An action to run when a countdown reaches a number of remaining seconds.
+ *
+ * @param mark The remaining seconds.
+ * @param action The action.
+ */
+public record Threshold(long mark, @NotNull TimerAction action) {
+}
@@ -0,0 +1,67 @@
+package com.leontg77.timer.action;
+
+import com.leontg77.timer.audience.TimerAudience;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The threshold actions of one countdown.
+ */
+public final class ThresholdActions {
+    private final ThresholdCursor cursor;
+    private final ActionDispatcher dispatcher;
+    private volatile TimerAudience audience;
+
+    public ThresholdActions(@NotNull Collection<Threshold> thresholds, @NotNull ActionDispatcher dispatcher,
+                            @NotNull TimerAudience audience) {
+        this.cursor = new ThresholdCursor(thresholds);
+        this.dispatcher = dispatcher;
+        this.audience = audience;
+    }
+
+    /**
+     * Start at the given remaining time, running the actions for exactly that mark and skipping any above it.
+     *
+     * @param timerId The id of the timer.
+     * @param remaining The remaining seconds.
+     */
+    public void start(@NotNull String timerId, long remaining) {
+        cursor.skipAbove(remaining);
+        reach(timerId, remaining);
+    }
+
+    /**
+     * Move to a remaining time set by hand, without running any actions.
+     * <br>Marks below the new time are armed again, and marks above it are skipped rather than run.
+     *
+     * @param remaining The remaining seconds.
+     */
+    public void seek(long remaining) {
+        cursor.seek(remaining);
+    }
+
+    /**
+     * Run the actions for every mark passed since the last update.
+     *
+     * @param timerId The id of the timer.
+     * @param remaining The remaining seconds.
+     */
+    public void reach(@NotNull String timerId, long remaining) {
+        List<TimerAction> reached = cursor.advance(remaining);
+
+        if (!reached.isEmpty()) {
+            dispatcher.dispatch(timerId, remaining, audience, reached);
+        }
+    }
+
+    /**
+     * Change who player actions are sent to.
+     *
+     * @param audience The new audience.
+     */
+    public void setAudience(@NotNull TimerAudience audience) {
+        this.audience = audience;
+    }
+}
@@ -0,0 +1,144 @@
+package com.leontg77.timer.action;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.title.Title;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads threshold actions from the {@code actions} section of the config.
+ * <br>Each key is a timer id, or {@value #ALL_TIMERS} for timers without their own list, holding a list of actions
+ * with an {@code at} mark, either a number of seconds or a range such as {@code 10..1}, and one of {@code command},
+ * {@code sound} (with optional {@code volume} and {@code pitch}), {@code title} (with optional {@code subtitle}) or
+ * {@code message}. Text is MiniMessage.
+ * <br>A range expands to one mark per second, so it can cover at most {@value #MAX_RANGE_MARKS} seconds.
+ */
+public final class ThresholdConfig {
+    public static final String ALL_TIMERS = "*";
+    public static final int MAX_RANGE_MARKS = 3600;
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    private final Map<String, List<Threshold>> thresholds;
+
+    private ThresholdConfig(Map<String, List<Threshold>> thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Get the thresholds for a timer.
+     *
+     * @param timerId The id of the timer.
+     * @return The thresholds, or null if the timer has none.
+     */
+    public @Nullable List<Threshold> get(@NotNull String timerId) {
+        List<Threshold> forTimer = thresholds.get(timerId);
+        return forTimer != null ? forTimer : thresholds.get(ALL_TIMERS);
+    }
+
+    public static ThresholdConfig empty() {
+        return new ThresholdConfig(Map.of());
+    }
+
+    /**
+     * Read the thresholds in a config section.
+     *
+     * @param section The actions section, or null if there isn't one.
+     * @return The thresholds.
+     * @throws IllegalArgumentException If an action is invalid.
+     */
+    public static ThresholdConfig load(@Nullable ConfigurationSection section) {
+        if (section == null) {
+            return empty();
+        }
+
+        Map<String, List<Threshold>> thresholds = new HashMap<>();
+
+        for (String id : section.getKeys(false)) {
+            List<Threshold> forTimer = new ArrayList<>();
+
+            for (Map<?, ?> entry : section.getMapList(id)) {
+                TimerAction action = parseAction(entry);
+
+                for (long mark : parseMarks(String.valueOf(entry.get("at")))) {
+                    forTimer.add(new Threshold(mark, action));
+                }
+            }
+
+            thresholds.put(id, List.copyOf(forTimer));
+        }
+
+        return new ThresholdConfig(thresholds);
+    }
+
+    private static long[] parseMarks(String at) {
+        try {
+            int range = at.indexOf("..");
+
+            if (range == -1) {
+                return new long[] {Long.parseLong(at.trim())};
+            }
+
+            long from = Long.parseLong(at.substring(0, range).trim());
+            long to = Long.parseLong(at.substring(range + 2).trim());
+            long low = Math.min(from, to);
+            long high = Math.max(from, to);
+
+            if (low < 0) {
+                throw new IllegalArgumentException("Action range " + at + " can't be negative");
+            }
+
+            if (high - low >= MAX_RANGE_MARKS) {
+                throw new IllegalArgumentException("Action range " + at + " covers more than " + MAX_RANGE_MARKS
+                                                           + " seconds");
+            }
+
+            long[] marks = new long[(int) (high - low + 1)];
+
+            for (int i = 0; i < marks.length; i++) {
+                marks[i] = low + i;
+            }
+
+            return marks;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid action mark " + at, ex);
+        }
+    }
+
+    private static TimerAction parseAction(Map<?, ?> entry) {
+        if (entry.get("command") instanceof String command) {
+            return new TimerAction.RunCommand(command.startsWith("/") ? command.substring(1) : command);
+        }
+
+        if (entry.get("sound") instanceof String sound) {
+            return new TimerAction.PlaySound(Sound.sound(Key.key(sound), Sound.Source.MASTER,
+                                                         getFloat(entry, "volume"), getFloat(entry, "pitch")));
+        }
+
+        if (entry.get("title") instanceof String title) {
+            Object subtitle = entry.get("subtitle");
+            Component subtitleText = subtitle != null ? MINI_MESSAGE.deserialize(subtitle.toString())
+                                                      : Component.empty();
+            return new TimerAction.ShowTitle(Title.title(MINI_MESSAGE.deserialize(title), subtitleText));
+        }
+
+        if (entry.get("message") instanceof String message) {
+            return new TimerAction.SendMessage(MINI_MESSAGE.deserialize(message));
+        }
+
+        throw new IllegalArgumentException("Action " + entry + " needs a command, sound, title or message");
+    }
+
+    private static float getFloat(Map<?, ?> entry, String key) {
+        return entry.get(key) instanceof Number number ? number.floatValue() : 1.0F;
+    }
+}
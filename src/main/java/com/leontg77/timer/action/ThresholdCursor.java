@@ -0,0 +1,69 @@
+package com.leontg77.timer.action;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cursor over the thresholds of one countdown, sorted from the highest mark down.
+ * <br>Remaining time only goes down between updates, so each update only compares against the next pending mark. An
+ * update which jumps several seconds, such as after a lag spike, returns every mark it passed.
+ */
+public final class ThresholdCursor {
+    private final Threshold[] thresholds;
+    private int next = 0;
+
+    public ThresholdCursor(@NotNull Collection<Threshold> thresholds) {
+        this.thresholds = thresholds.stream()
+                .sorted(Comparator.comparingLong(Threshold::mark).reversed())
+                .toArray(Threshold[]::new);
+    }
+
+    /**
+     * Skip every mark above the given remaining time, for starting a countdown part way through.
+     *
+     * @param remaining The remaining seconds.
+     */
+    public void skipAbove(long remaining) {
+        while (next < thresholds.length && thresholds[next].mark() > remaining) {
+            next++;
+        }
+    }
+
+    /**
+     * Move the cursor to a remaining time in either direction, for when the time left is changed by hand.
+     * <br>Marks below the new time which were already reached are pending again, and marks above it are skipped.
+     *
+     * @param remaining The remaining seconds.
+     */
+    public void seek(long remaining) {
+        while (next > 0 && thresholds[next - 1].mark() < remaining) {
+            next--;
+        }
+
+        skipAbove(remaining);
+    }
+
+    /**
+     * Move the cursor to the given remaining time.
+     *
+     * @param remaining The remaining seconds.
+     * @return The actions of every mark reached since the last call, highest mark first.
+     */
+    public List<TimerAction> advance(long remaining) {
+        if (next == thresholds.length || thresholds[next].mark() < remaining) {
+            return List.of();
+        }
+
+        List<TimerAction> reached = new ArrayList<>();
+
+        while (next < thresholds.length && thresholds[next].mark() >= remaining) {
+            reached.add(thresholds[next++].action());
+        }
+
+        return reached;
+    }
+}
@@ -0,0 +1,44 @@
+package com.leontg77.timer.action;
+
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Something done when a timer reaches a remaining time mark.
+ */
+public sealed interface TimerAction {
+    /**
+     * Run a command as the console, with {@code {id}} and {@code {remaining}} replaced by the timer id and the
+     * remaining seconds.
+     *
+     * @param command The command, without a leading slash.
+     */
+    record RunCommand(@NotNull String command) implements TimerAction {
+    }
+
+    /**
+     * Play a sound to the timer's audience.
+     *
+     * @param sound The sound.
+     */
+    record PlaySound(@NotNull Sound sound) implements TimerAction {
+    }
+
+    /**
+     * Show a title to the timer's audience.
+     *
+     * @param title The title.
+     */
+    record ShowTitle(@NotNull Title title) implements TimerAction {
+    }
+
+    /**
+     * Send a chat message to the timer's audience.
+     *
+     * @param message The message.
+     */
+    record SendMessage(@NotNull Component message) implements TimerAction {
+    }
+}
@@ -0,0 +1,121 @@
+package com.leontg77.timer.api;
+
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.runnable.TimerSnapshot;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Service for other plugins to manage timers, registered with the Bukkit {@link org.bukkit.plugin.ServicesManager}.
+ * <br>Listen to {@link com.leontg77.timer.event.TimerStartEvent}, {@link com.leontg77.timer.event.TimerSecondEvent}
+ * and {@link com.leontg77.timer.event.TimerEndEvent} to react to timers without polling.
+ * <br>Timers are identified by id, {@value com.leontg77.timer.runnable.TimerRegistry#DEFAULT_ID} being the timer
+ * started by {@code /timer start} without an id.
+ */
+public interface TimerService {
+    /**
+     * Start a timer.
+     *
+     * @param id The id of the timer.
+     * @param message The message to display.
+     * @param endTime The time the countdown ends, or null for an infinite timer.
+     * @param audience The players to show the timer to.
+     * @throws IllegalStateException If a timer with the given id is already running.
+     * @throws IllegalArgumentException If cross-server sync is enabled and the timer is too large to send.
+     */
+    void startTimer(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                    @NotNull TimerAudience audience);
+
+    /**
+     * Cancel a running timer.
+     *
+     * @param id The id of the timer.
+     * @return True if a timer was cancelled, false if it wasn't running.
+     */
+    boolean cancelTimer(@NotNull String id);
+
+    /**
+     * Pause a running countdown, leaving it frozen on display.
+     *
+     * @param id The id of the timer.
+     * @return True if the timer was paused, false if no countdown with that id is running or it's already paused.
+     */
+    boolean pauseTimer(@NotNull String id);
+
+    /**
+     * Resume a paused countdown from where it was paused.
+     *
+     * @param id The id of the timer.
+     * @return True if the timer was resumed, false if no timer with that id is paused.
+     */
+    boolean resumeTimer(@NotNull String id);
+
+    /**
+     * Add time to a running countdown, or take it away if negative.
+     * <br>The timer keeps its displays, and only the text and progress that changed are sent to players.
+     *
+     * @param id The id of the timer.
+     * @param time The time to add.
+     * @return True if the time was changed, false if no countdown with that id is running.
+     */
+    boolean addTime(@NotNull String id, @NotNull Duration time);
+
+    /**
+     * Set the time left on a running countdown, keeping it paused if it is.
+     * <br>The timer keeps its displays, and only the text and progress that changed are sent to players.
+     *
+     * @param id The id of the timer.
+     * @param remaining The new time left.
+     * @return True if the time was changed, false if no countdown with that id is running.
+     */
+    boolean setTime(@NotNull String id, @NotNull Duration remaining);
+
+    /**
+     * Get the current state of a running timer.
+     * <br>Safe to call from any thread.
+     *
+     * @param id The id of the timer.
+     * @return The state, or null if the timer isn't running.
+     */
+    @Nullable TimerSnapshot getTimer(@NotNull String id);
+
+    /**
+     * Get the current state of every running timer.
+     *
+     * @return The states, in the order the timers were started.
+     */
+    @NotNull Collection<TimerSnapshot> getTimers();
+
+    /**
+     * Start a countdown or stopwatch for one player on their own boss bar.
+     * <br>Any personal timer the player already has is replaced, and the timer is stopped when they quit.
+     *
+     * @param player The player.
+     * @param message The message to display.
+     * @param duration The length of the countdown, or null for a stopwatch counting up.
+     * @throws IllegalArgumentException If the duration isn't positive.
+     */
+    void startPersonalTimer(@NotNull Player player, @NotNull Component message, @Nullable Duration duration);
+
+    /**
+     * Stop a player's personal timer.
+     *
+     * @param player The player.
+     * @return The time left of a countdown or elapsed on a stopwatch, or null if the player had no timer.
+     */
+    @Nullable Duration stopPersonalTimer(@NotNull Player player);
+
+    /**
+     * Get the time on a player's personal timer.
+     *
+     * @param player The player.
+     * @return The time left of a countdown or elapsed on a stopwatch, or null if the player has no timer.
+     */
+    @Nullable Duration getPersonalTimer(@NotNull Player player);
+}
@@ -0,0 +1,307 @@
+package com.leontg77.timer.audience;
+
+import com.leontg77.timer.scheduler.TaskScheduler;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Incrementally maintained index of which online players belong to each audience in use.
+ * <br>Memberships are worked out once when an audience is first subscribed to, then kept up to date on join, quit,
+ * world change and permission change, so handlers only ever deal with their actual viewers. Members are also bucketed
+ * by client locale, kept up to date on locale change, so handlers can render once per locale.
+ * <br>Bukkit has no permission change event, so permission audiences are re-checked when a player's commands are
+ * resent, which permission plugins do on every recalculation, and on a slow periodic sweep as a fallback.
+ */
+public final class AudienceIndex implements Listener {
+    private static final long PERMISSION_SWEEP_PERIOD = 100L;
+
+    private final Server server;
+    private final TaskScheduler scheduler;
+    private final Map<TimerAudience, Group> groups = new ConcurrentHashMap<>();
+    private TaskScheduler.TaskHandle permissionSweep = null;
+
+    public AudienceIndex(Server server, TaskScheduler scheduler) {
+        this.server = server;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Subscribe to the membership of an audience.
+     *
+     * @param audience The audience.
+     * @param listener The listener to notify when players join or leave the audience.
+     * @return The subscription, which must be cancelled when no longer needed.
+     */
+    public synchronized Subscription subscribe(@NotNull TimerAudience audience, @NotNull MembershipListener listener) {
+        Group group = groups.computeIfAbsent(audience, this::createGroup);
+        group.listeners.add(listener);
+
+        if (audience instanceof TimerAudience.WithPermission && permissionSweep == null) {
+            permissionSweep = scheduler.runTimer(this::sweepPermissions, PERMISSION_SWEEP_PERIOD,
+                                                 PERMISSION_SWEEP_PERIOD);
+        }
+
+        return new Subscription(this, group, listener);
+    }
+
+    /**
+     * Get the online players in an audience.
+     * <br>Audiences in use by a running timer are answered from their group without checking any other player. Other
+     * audiences are worked out from scratch.
+     *
+     * @param audience The audience.
+     * @return The members, a live view if the audience is in use.
+     */
+    public Collection<Player> getMembers(@NotNull TimerAudience audience) {
+        Group group = groups.get(audience);
+        return Collections.unmodifiableSet(group != null ? group.members : createGroup(audience).members);
+    }
+
+    private synchronized void unsubscribe(Group group, MembershipListener listener) {
+        group.listeners.remove(listener);
+
+        if (!group.listeners.isEmpty()) {
+            return;
+        }
+
+        groups.remove(group.audience, group);
+
+        if (permissionSweep != null && groups.keySet().stream()
+                .noneMatch(audience -> audience instanceof TimerAudience.WithPermission)) {
+            permissionSweep.cancel();
+            permissionSweep = null;
+        }
+    }
+
+    private Group createGroup(TimerAudience audience) {
+        Group group = new Group(audience);
+
+        switch (audience) {
+            case TimerAudience.InWorld inWorld -> {
+                World world = server.getWorld(inWorld.world());
+
+                if (world != null) {
+                    world.getPlayers().forEach(group::add);
+                }
+            }
+            case TimerAudience.Players players -> players.players().stream()
+                    .map(server::getPlayer)
+                    .filter(Objects::nonNull)
+                    .forEach(group::add);
+            default -> server.getOnlinePlayers().stream().filter(audience::includes).forEach(group::add);
+        }
+
+        return group;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+
+        for (Group group : groups.values()) {
+            group.update(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+
+        for (Group group : groups.values()) {
+            group.remove(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLocaleChange(PlayerLocaleChangeEvent event) {
+        Player player = event.getPlayer();
+
+        for (Group group : groups.values()) {
+            group.relocate(player, event.locale());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        Player player = event.getPlayer();
+
+        for (Group group : groups.values()) {
+            if (group.audience instanceof TimerAudience.InWorld) {
+                group.update(player);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+        updatePermissions(event.getPlayer());
+    }
+
+    private void sweepPermissions() {
+        for (Player player : server.getOnlinePlayers()) {
+            scheduler.runForEntity(player, () -> updatePermissions(player));
+        }
+    }
+
+    private void updatePermissions(Player player) {
+        if (!player.isOnline()) {
+            return;
+        }
+
+        for (Group group : groups.values()) {
+            if (group.audience instanceof TimerAudience.WithPermission) {
+                group.update(player);
+            }
+        }
+    }
+
+    /**
+     * Notified when players enter or leave an audience while online.
+     * <br>Players quitting the server are removed silently.
+     */
+    public interface MembershipListener {
+        void onJoin(@NotNull Player player);
+
+        void onLeave(@NotNull Player player);
+
+        /**
+         * Notified when a member of the audience changes their client locale.
+         *
+         * @param player The player.
+         * @param locale The new locale.
+         */
+        default void onLocaleChange(@NotNull Player player, @NotNull Locale locale) {
+
+        }
+    }
+
+    /**
+     * A listener's subscription to an audience.
+     */
+    public static final class Subscription {
+        private final AudienceIndex index;
+        private final Group group;
+        private final MembershipListener listener;
+
+        private Subscription(AudienceIndex index, Group group, MembershipListener listener) {
+            this.index = index;
+            this.group = group;
+            this.listener = listener;
+        }
+
+        public TimerAudience getAudience() {
+            return group.audience;
+        }
+
+        /**
+         * Get the online players currently in the audience.
+         *
+         * @return A live, unmodifiable view of the members.
+         */
+        public Collection<Player> getViewers() {
+            return Collections.unmodifiableSet(group.members);
+        }
+
+        /**
+         * Get the online players currently in the audience, grouped by client locale.
+         *
+         * @return A live, unmodifiable view of the members by locale.
+         */
+        public Map<Locale, Set<Player>> getViewersByLocale() {
+            return Collections.unmodifiableMap(group.byLocale);
+        }
+
+        /**
+         * Stop receiving membership updates.
+         */
+        public void cancel() {
+            index.unsubscribe(group, listener);
+        }
+    }
+
+    private static final class Group {
+        private final TimerAudience audience;
+        private final Set<Player> members = ConcurrentHashMap.newKeySet();
+        private final Map<Locale, Set<Player>> byLocale = new ConcurrentHashMap<>();
+        private final List<MembershipListener> listeners = new CopyOnWriteArrayList<>();
+
+        private Group(TimerAudience audience) {
+            this.audience = audience;
+        }
+
+        private void update(Player player) {
+            boolean included = audience.includes(player);
+
+            if (included && add(player)) {
+                listeners.forEach(listener -> listener.onJoin(player));
+            } else if (!included && remove(player)) {
+                listeners.forEach(listener -> listener.onLeave(player));
+            }
+        }
+
+        private boolean add(Player player) {
+            if (!members.add(player)) {
+                return false;
+            }
+
+            addToLocale(player, player.locale());
+            return true;
+        }
+
+        private boolean remove(Player player) {
+            if (!members.remove(player)) {
+                return false;
+            }
+
+            removeFromLocales(player);
+            return true;
+        }
+
+        private void relocate(Player player, Locale locale) {
+            if (!members.contains(player)) {
+                return;
+            }
+
+            removeFromLocales(player);
+            addToLocale(player, locale);
+            listeners.forEach(listener -> listener.onLocaleChange(player, locale));
+        }
+
+        private void addToLocale(Player player, Locale locale) {
+            byLocale.compute(locale, (key, players) -> {
+                Set<Player> bucket = players != null ? players : ConcurrentHashMap.newKeySet();
+                bucket.add(player);
+                return bucket;
+            });
+        }
+
+        private void removeFromLocales(Player player) {
+            for (Locale locale : byLocale.keySet()) {
+                byLocale.computeIfPresent(locale, (key, players) -> {
+                    players.remove(player);
+                    return players.isEmpty() ? null : players;
+                });
+            }
+        }
+    }
+}
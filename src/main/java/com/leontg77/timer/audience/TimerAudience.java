@@ -0,0 +1,154 @@
+package com.leontg77.timer.audience;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The players a timer is shown to.
+ * <br>Audiences are values, timers with equal audiences share one membership group in the {@link AudienceIndex}.
+ */
+public sealed interface TimerAudience {
+    TimerAudience EVERYONE = new Everyone();
+
+    /**
+     * Check whether a player is part of this audience.
+     *
+     * @param player The player.
+     * @return True if the player should see the timer.
+     */
+    boolean includes(@NotNull Player player);
+
+    /**
+     * Serialize this audience in the format read by {@link #parse(String)}.
+     *
+     * @return The serialized audience.
+     */
+    String serialize();
+
+    /**
+     * Parse an audience from {@code everyone}, {@code world:<name>}, {@code permission:<node>} or
+     * {@code players:<name or uuid>,...}.
+     *
+     * @param input The audience string.
+     * @return The parsed audience.
+     * @throws IllegalArgumentException If the input isn't a valid audience.
+     */
+    static TimerAudience parse(@NotNull String input) {
+        if (input.equalsIgnoreCase("everyone")) {
+            return EVERYONE;
+        }
+
+        int split = input.indexOf(':');
+
+        if (split == -1 || split == input.length() - 1) {
+            throw new IllegalArgumentException(input + " is not a valid audience");
+        }
+
+        String value = input.substring(split + 1);
+
+        return switch (input.substring(0, split).toLowerCase()) {
+            case "world" -> new InWorld(value);
+            case "permission" -> new WithPermission(value);
+            case "players" -> new Players(Arrays.stream(value.split(","))
+                                                  .map(String::trim)
+                                                  .filter(name -> !name.isEmpty())
+                                                  .map(TimerAudience::resolvePlayer)
+                                                  .collect(Collectors.toUnmodifiableSet()));
+            default -> throw new IllegalArgumentException(input + " is not a valid audience");
+        };
+    }
+
+    private static UUID resolvePlayer(String nameOrId) {
+        try {
+            return UUID.fromString(nameOrId);
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        Player online = Bukkit.getPlayerExact(nameOrId);
+
+        if (online != null) {
+            return online.getUniqueId();
+        }
+
+        OfflinePlayer cached = Bukkit.getOfflinePlayerIfCached(nameOrId);
+
+        if (cached == null) {
+            throw new IllegalArgumentException("Unknown player " + nameOrId);
+        }
+
+        return cached.getUniqueId();
+    }
+
+    /**
+     * Every online player.
+     */
+    record Everyone() implements TimerAudience {
+        @Override
+        public boolean includes(@NotNull Player player) {
+            return true;
+        }
+
+        @Override
+        public String serialize() {
+            return "everyone";
+        }
+    }
+
+    /**
+     * Players in the given world.
+     *
+     * @param world The name of the world.
+     */
+    record InWorld(@NotNull String world) implements TimerAudience {
+        @Override
+        public boolean includes(@NotNull Player player) {
+            return player.getWorld().getName().equals(world);
+        }
+
+        @Override
+        public String serialize() {
+            return "world:" + world;
+        }
+    }
+
+    /**
+     * Players with the given permission.
+     *
+     * @param permission The permission node.
+     */
+    record WithPermission(@NotNull String permission) implements TimerAudience {
+        @Override
+        public boolean includes(@NotNull Player player) {
+            return player.hasPermission(permission);
+        }
+
+        @Override
+        public String serialize() {
+            return "permission:" + permission;
+        }
+    }
+
+    /**
+     * An explicit set of players.
+     *
+     * @param players The unique ids of the players.
+     */
+    record Players(@NotNull Set<UUID> players) implements TimerAudience {
+        @Override
+        public boolean includes(@NotNull Player player) {
+            return players.contains(player.getUniqueId());
+        }
+
+        @Override
+        public String serialize() {
+            return "players:" + players.stream().map(UUID::toString).collect(Collectors.joining(","));
+        }
+    }
+}
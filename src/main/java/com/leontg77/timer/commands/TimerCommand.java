@@ -28,24 +28,59 @@
 package com.leontg77.timer.commands;
 
 import com.leontg77.timer.Main;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.metrics.Histogram;
+import com.leontg77.timer.metrics.TimerMetrics;
+import com.leontg77.timer.runnable.PersonalTimers;
+import com.leontg77.timer.runnable.TimerRegistry;
+import com.leontg77.timer.runnable.TimerRunnable;
+import com.leontg77.timer.schedule.MissedFirePolicy;
+import com.leontg77.timer.schedule.Recurrence;
+import com.leontg77.timer.schedule.ScheduleQueue;
+import com.leontg77.timer.schedule.TimerSchedule;
+import com.leontg77.timer.transfer.TimerFileFormat;
+import com.leontg77.timer.transfer.TimerTransfer;
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
+import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
 import static com.mojang.brigadier.arguments.LongArgumentType.longArg;
+import static com.mojang.brigadier.arguments.StringArgumentType.greedyString;
+import static com.mojang.brigadier.arguments.StringArgumentType.word;
 import static io.papermc.paper.command.brigadier.Commands.argument;
 import static io.papermc.paper.command.brigadier.Commands.literal;
 import static io.papermc.paper.command.brigadier.argument.ArgumentTypes.component;
+import static io.papermc.paper.command.brigadier.argument.ArgumentTypes.players;
 
 /**
  * Timer command class.
@@ -62,32 +97,99 @@ public final class TimerCommand {
 
 		LiteralCommandNode<CommandSourceStack> timerCommand = literal("timer")
                 .requires(ctx -> ctx.getSender().hasPermission(PERMISSION))
-                .then(literal("start")
-                              .then(literal("duration").then(argument("duration", integer(1))
-                                            .then(argument("text", component())
-                                                          .executes(ctx -> onStart(ctx, TimerType.DURATION)))))
-                              .then(literal("endtime").then(argument("endtime", longArg())
-                                            .then(argument("text", component())
-                                                          .executes(ctx -> onStart(ctx, TimerType.END_TIME)))))
-                              .then(literal("infinite")
-                                            .then(argument("text", component())
-                                                          .executes(ctx -> onStart(ctx, TimerType.INFINITE)))))
+                .then(withStartTypes(literal("start"))
+                              .then(withStartTypes(argument("id", word()))))
                 .then(literal("setstyle")
                               .then(argument("color", new BossBarColorArgumentType())
                                             .then(argument("style", new BossBarOverlayArgumentType())
                                                           .executes(this::onSetStyle))))
-                .then(literal("cancel").executes(this::onCancel))
+                .then(literal("cancel").executes(this::onCancel)
+                              .then(argument("id", word()).suggests(this::suggestTimers)
+                                            .executes(this::onCancel)))
+                .then(literal("pause").executes(this::onPause)
+                              .then(argument("id", word()).suggests(this::suggestTimers)
+                                            .executes(this::onPause)))
+                .then(literal("resume").executes(this::onResume)
+                              .then(argument("id", word()).suggests(this::suggestTimers)
+                                            .executes(this::onResume)))
+                .then(literal("addtime")
+                              .then(argument("id", word()).suggests(this::suggestTimers)
+                                            .then(argument("seconds", integer())
+                                                          .executes(ctx -> onAdjust(ctx, true)))))
+                .then(literal("settime")
+                              .then(argument("id", word()).suggests(this::suggestTimers)
+                                            .then(argument("seconds", integer(0))
+                                                          .executes(ctx -> onAdjust(ctx, false)))))
+                .then(literal("audience")
+                              .then(argument("id", word()).suggests(this::suggestTimers)
+                                            .then(argument("audience", greedyString())
+                                                          .suggests(this::suggestAudiences)
+                                                          .executes(this::onAudience))))
+                .then(literal("schedule")
+                              .then(argument("id", word())
+                                            .then(literal("every")
+                                                          .then(withScheduleOptions(argument("interval", longArg(1)),
+                                                                                    ScheduleType.EVERY)))
+                                            .then(literal("daily")
+                                                          .then(withScheduleOptions(argument("time", word()),
+                                                                                    ScheduleType.DAILY)))
+                                            .then(literal("at")
+                                                          .then(withScheduleOptions(argument("timestamp", longArg()),
+                                                                                    ScheduleType.AT)))))
+                .then(literal("unschedule")
+                              .then(argument("id", word()).suggests(this::suggestSchedules)
+                                            .executes(this::onUnschedule)))
+                .then(literal("schedules").executes(this::onSchedules))
+                .then(literal("personal")
+                              .then(argument("players", players())
+                                            .then(literal("countdown").then(argument("duration", integer(1))
+                                                          .then(argument("text", component())
+                                                                        .executes(ctx -> onPersonal(ctx, true)))))
+                                            .then(literal("stopwatch")
+                                                          .then(argument("text", component())
+                                                                        .executes(ctx -> onPersonal(ctx, false))))
+                                            .then(literal("stop").executes(this::onPersonalStop))))
+                .then(literal("import")
+                              .then(argument("file", word()).suggests(this::suggestFiles)
+                                            .executes(this::onImport)))
+                .then(literal("export")
+                              .then(argument("file", word()).suggests(this::suggestFiles)
+                                            .executes(this::onExport)))
+                .then(literal("list").executes(this::onList))
+                .then(literal("stats").executes(this::onStats))
                 .then(literal("reload").executes(this::onReload))
                 .build();
 
-        commands.register(timerCommand, "Manage the bossbar timer");
+        commands.register(timerCommand, "Manage the bossbar timers");
+    }
+
+    private <T extends ArgumentBuilder<CommandSourceStack, T>> T withStartTypes(T node) {
+        return node
+                .then(literal("duration").then(argument("duration", integer(1))
+                              .then(argument("text", component())
+                                            .executes(ctx -> onStart(ctx, TimerType.DURATION)))))
+                .then(literal("endtime").then(argument("endtime", longArg())
+                              .then(argument("text", component())
+                                            .executes(ctx -> onStart(ctx, TimerType.END_TIME)))))
+                .then(literal("infinite")
+                              .then(argument("text", component())
+                                            .executes(ctx -> onStart(ctx, TimerType.INFINITE))));
+    }
+
+    private <T extends ArgumentBuilder<CommandSourceStack, T>> T withScheduleOptions(T node, ScheduleType type) {
+        return node.then(argument("lead", longArg(1))
+                                 .then(argument("policy", word()).suggests(this::suggestPolicies)
+                                               .then(argument("text", component())
+                                                             .executes(ctx -> onSchedule(ctx, type)))));
     }
 
     private int onStart(CommandContext<CommandSourceStack> ctx, @NotNull TimerType type) {
         CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
 
-        if (plugin.getActiveTimer() != null) {
-            sender.sendMessage(Component.text("Timer is already running, cancel with /timer cancel.")
+        if (plugin.getTimer(id) != null) {
+            sender.sendMessage(Component.text("Timer " + id + " is already running, cancel with /timer cancel "
+                                              + id + ".")
                                        .color(NamedTextColor.RED));
             return Command.SINGLE_SUCCESS;
         }
@@ -101,9 +203,113 @@ public final class TimerCommand {
             case END_TIME -> endTime = Instant.ofEpochSecond(ctx.getArgument("endtime", long.class));
         }
 
-        plugin.createTimer(text, endTime);
-        plugin.getLogger().info("Starting timer for \"" + Main.plain.serialize(text) + "\"");
-        sender.sendMessage(Component.text("Timer started.").color(NamedTextColor.GREEN));
+        try {
+            plugin.createTimer(id, text, endTime);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(Component.text(e.getMessage()).color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        plugin.getLogger().info("Starting timer " + id + " for \"" + Main.plain.serialize(text) + "\"");
+        sender.sendMessage(Component.text("Timer " + id + " started.").color(NamedTextColor.GREEN));
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onPersonal(CommandContext<CommandSourceStack> ctx, boolean countdown) throws CommandSyntaxException {
+        CommandSender sender = ctx.getSource().getSender();
+        List<Player> players = ctx.getArgument("players", PlayerSelectorArgumentResolver.class)
+                .resolve(ctx.getSource());
+        Component text = ctx.getArgument("text", Component.class);
+        Duration duration = countdown ? Duration.ofSeconds(ctx.getArgument("duration", int.class)) : null;
+
+        for (Player player : players) {
+            plugin.startPersonalTimer(player, text, duration);
+        }
+
+        sender.sendMessage(Component.text("Personal timer started for " + players.size() + " player(s).")
+                                   .color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onPersonalStop(CommandContext<CommandSourceStack> ctx) throws CommandSyntaxException {
+        CommandSender sender = ctx.getSource().getSender();
+        List<Player> players = ctx.getArgument("players", PlayerSelectorArgumentResolver.class)
+                .resolve(ctx.getSource());
+
+        for (Player player : players) {
+            Duration time = plugin.getPersonalTimers().stop(player);
+
+            if (time != null) {
+                String stoppedAt = plugin.getTimers().getFormatter().friendly(time.toSeconds());
+                sender.sendMessage(Component.text("Stopped the timer of " + player.getName() + " at " + stoppedAt)
+                                           .color(NamedTextColor.GREEN));
+            }
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onSchedule(CommandContext<CommandSourceStack> ctx, @NotNull ScheduleType type) {
+        CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+        Recurrence recurrence;
+        MissedFirePolicy policy;
+        TimerSchedule schedule;
+
+        try {
+            recurrence = switch (type) {
+                case EVERY -> new Recurrence.Interval(Instant.now(),
+                                                      Duration.ofSeconds(ctx.getArgument("interval", long.class)));
+                case DAILY -> new Recurrence.Daily(LocalTime.parse(ctx.getArgument("time", String.class)));
+                case AT -> new Recurrence.Once(Instant.ofEpochSecond(ctx.getArgument("timestamp", long.class)));
+            };
+            policy = MissedFirePolicy.parse(ctx.getArgument("policy", String.class));
+            schedule = new TimerSchedule(id, ctx.getArgument("text", Component.class), TimerAudience.EVERYONE,
+                                         recurrence, Duration.ofSeconds(ctx.getArgument("lead", long.class)), policy);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            sender.sendMessage(Component.text("Invalid schedule: " + e.getMessage()).color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        plugin.addSchedule(schedule);
+        sender.sendMessage(Component.text("Timer " + id + " scheduled.").color(NamedTextColor.GREEN));
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onUnschedule(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+
+        if (!plugin.removeSchedule(id)) {
+            sender.sendMessage(Component.text("Timer " + id + " is not scheduled").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Timer " + id + " unscheduled").color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onSchedules(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        List<ScheduleQueue.Entry> entries = plugin.getSchedules().getEntries();
+
+        if (entries.isEmpty()) {
+            sender.sendMessage(Component.text("No timers are scheduled").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Scheduled timers:").color(NamedTextColor.GREEN));
+
+        for (ScheduleQueue.Entry entry : entries) {
+            TimerSchedule schedule = entry.schedule();
+            sender.sendMessage(Component.text(" - " + schedule.id() + ": ").color(NamedTextColor.GRAY)
+                                       .append(schedule.message())
+                                       .append(Component.text(" (" + schedule.recurrence().serialize() + ", next "
+                                                                      + entry.occurrence() + ")")
+                                                       .color(NamedTextColor.GRAY)));
+        }
 
         return Command.SINGLE_SUCCESS;
     }
@@ -121,35 +327,307 @@ public final class TimerCommand {
 
     private int onCancel(CommandContext<CommandSourceStack> ctx) {
         CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+
+        if (!plugin.cancelTimer(id)) {
+            sender.sendMessage(Component.text("Timer " + id + " is not running").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Timer " + id + " cancelled").color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onPause(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+
+        if (!plugin.pauseTimer(id)) {
+            sender.sendMessage(Component.text("Timer " + id + " is not a running countdown or is already paused")
+                                       .color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Timer " + id + " paused").color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onResume(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+
+        if (!plugin.resumeTimer(id)) {
+            sender.sendMessage(Component.text("Timer " + id + " is not paused").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Timer " + id + " resumed").color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onAdjust(CommandContext<CommandSourceStack> ctx, boolean add) {
+        CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+        Duration time = Duration.ofSeconds(ctx.getArgument("seconds", int.class));
+
+        if (!(add ? plugin.addTime(id, time) : plugin.setTime(id, time))) {
+            sender.sendMessage(Component.text("Timer " + id + " is not a running countdown").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        TimerRunnable timer = plugin.getTimer(id);
+        String remaining = timer != null ? timer.getFriendlyRemaining() : "no time";
+        sender.sendMessage(Component.text("Timer " + id + " now has " + remaining + " left")
+                                   .color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onAudience(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        String id = getTimerId(ctx);
+        TimerAudience audience;
+
+        try {
+            audience = TimerAudience.parse(ctx.getArgument("audience", String.class));
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(Component.text(e.getMessage()).color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        if (!plugin.setAudience(id, audience)) {
+            sender.sendMessage(Component.text("Timer " + id + " is not running").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Timer " + id + " is now shown to " + audience.serialize())
+                                   .color(NamedTextColor.GREEN));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onImport(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        Path file;
+
+        try {
+            file = TimerTransfer.resolve(plugin.getDataFolder().toPath(), ctx.getArgument("file", String.class));
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(Component.text(e.getMessage()).color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Importing timers from " + file.getFileName() + "...")
+                                   .color(NamedTextColor.GRAY));
+        plugin.importTimers(file).whenComplete((result, ex) -> {
+            if (ex != null) {
+                sender.sendMessage(Component.text("Failed to import " + file.getFileName() + ": " + describe(ex))
+                                           .color(NamedTextColor.RED));
+                return;
+            }
+
+            sender.sendMessage(Component.text("Imported " + result.timers().size() + " timer(s), skipped "
+                                                      + result.expired() + " ended and " + result.failed() + " invalid")
+                                       .color(NamedTextColor.GREEN));
+            result.errors().forEach(error -> sender.sendMessage(Component.text(" - " + error)
+                                                                        .color(NamedTextColor.RED)));
+        });
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onExport(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        Path file;
 
-        if (plugin.getActiveTimer() == null) {
-            sender.sendMessage(Component.text("No timer is running").color(NamedTextColor.RED));
+        try {
+            file = TimerTransfer.resolve(plugin.getDataFolder().toPath(), ctx.getArgument("file", String.class));
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(Component.text(e.getMessage()).color(NamedTextColor.RED));
             return Command.SINGLE_SUCCESS;
         }
 
-        plugin.getActiveTimer().cancel();
-        sender.sendMessage(Component.text("Timer cancelled").color(NamedTextColor.GREEN));
+        plugin.exportTimers(file).whenComplete((count, ex) -> {
+            if (ex != null) {
+                sender.sendMessage(Component.text("Failed to export " + file.getFileName() + ": " + describe(ex))
+                                           .color(NamedTextColor.RED));
+                return;
+            }
+
+            sender.sendMessage(Component.text("Exported " + count + " timer(s) to " + file.getFileName())
+                                       .color(NamedTextColor.GREEN));
+        });
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onList(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        Collection<TimerRunnable> timers = plugin.getTimers().getTimers();
+
+        if (timers.isEmpty()) {
+            sender.sendMessage(Component.text("No timers are running").color(NamedTextColor.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Component.text("Running timers:").color(NamedTextColor.GREEN));
+
+        for (TimerRunnable timer : timers) {
+            Component line = Component.text(" - " + timer.getId() + ": ").color(NamedTextColor.GRAY)
+                    .append(timer.getMessage());
+
+            if (timer.isCountdown()) {
+                String state = timer.isPaused() ? ", paused" : "";
+                line = line.append(Component.text(" (" + timer.getFriendlyRemaining() + state + ")")
+                                           .color(NamedTextColor.GRAY));
+            }
+
+            sender.sendMessage(line);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private int onStats(CommandContext<CommandSourceStack> ctx) {
+        CommandSender sender = ctx.getSource().getSender();
+        TimerMetrics metrics = plugin.getTimers().getMetrics();
+        Histogram ticks = metrics.getTicks();
+
+        sender.sendMessage(Component.text("Timer stats:").color(NamedTextColor.GREEN));
+        sender.sendMessage(Component.text(String.format(" - Ticks: %d, mean %.1fµs, p99 <%.1fµs, max %.1fµs",
+                                                        ticks.getCount(), ticks.getMean() / 1000.0,
+                                                        ticks.getPercentile(0.99) / 1000.0, ticks.getMax() / 1000.0))
+                                   .color(NamedTextColor.GRAY));
+        Histogram lateness = metrics.getLateness();
+        sender.sendMessage(Component.text(String.format(" - Update lateness: p99 <%.1fms, max %.1fms, clock drift %dms",
+                                                        lateness.getPercentile(0.99) / 1e6, lateness.getMax() / 1e6,
+                                                        metrics.getMaxClockDriftMillis()))
+                                   .color(NamedTextColor.GRAY));
+        sender.sendMessage(Component.text(" - Running timers: " + metrics.getRunningTimers())
+                                   .color(NamedTextColor.GRAY));
+        PersonalTimers personal = plugin.getPersonalTimers();
+        Histogram personalTicks = personal.getTicks();
+        sender.sendMessage(Component.text(String.format(" - Personal timers: %d, tick mean %.1fµs, max %.1fµs",
+                                                        personal.size(), personalTicks.getMean() / 1000.0,
+                                                        personalTicks.getMax() / 1000.0))
+                                   .color(NamedTextColor.GRAY));
+        sender.sendMessage(Component.text(String.format(" - Formatter cache hit rate: %.1f%%",
+                                                        metrics.getFormatterCacheHitRate() * 100))
+                                   .color(NamedTextColor.GRAY));
+
+        for (TimerRunnable timer : plugin.getTimers().getTimers()) {
+            sender.sendMessage(Component.text(" - Timer " + timer.getId() + ": "
+                                                      + timer.getHandler().getUpdateCount() + " updates, "
+                                                      + timer.getHandler().getViewerCount() + " viewers")
+                                       .color(NamedTextColor.GRAY));
+        }
+
+        metrics.getPlaceholderHits().forEach(
+                (identifier, hits) -> sender.sendMessage(Component.text(" - %timer_" + identifier + "%: " + hits)
+                                                                 .color(NamedTextColor.GRAY)));
+
         return Command.SINGLE_SUCCESS;
     }
 
     private int onReload(CommandContext<CommandSourceStack> ctx) {
         CommandSender sender = ctx.getSource().getSender();
 
-        if (plugin.getActiveTimer() != null) {
+        if (!plugin.getTimers().isEmpty()) {
             sender.sendMessage(Component.text("Cannot reload while a timer is running").color(NamedTextColor.RED));
             return Command.SINGLE_SUCCESS;
         }
 
-        plugin.getActiveTimer().cancel();
         plugin.reloadConfig();
 
         sender.sendMessage(Component.text("Timer config has been reloaded").color(NamedTextColor.GREEN));
         return Command.SINGLE_SUCCESS;
     }
 
+    private CompletableFuture<Suggestions> suggestTimers(CommandContext<CommandSourceStack> ctx,
+                                                         SuggestionsBuilder builder) {
+        String search = builder.getRemainingLowerCase();
+
+        plugin.getTimers().getTimers().stream()
+                .map(TimerRunnable::getId)
+                .filter(id -> id.toLowerCase().startsWith(search))
+                .forEach(builder::suggest);
+
+        return builder.buildFuture();
+    }
+
+    private CompletableFuture<Suggestions> suggestSchedules(CommandContext<CommandSourceStack> ctx,
+                                                            SuggestionsBuilder builder) {
+        String search = builder.getRemainingLowerCase();
+
+        plugin.getSchedules().getEntries().stream()
+                .map(entry -> entry.schedule().id())
+                .filter(id -> id.toLowerCase().startsWith(search))
+                .forEach(builder::suggest);
+
+        return builder.buildFuture();
+    }
+
+    private CompletableFuture<Suggestions> suggestPolicies(CommandContext<CommandSourceStack> ctx,
+                                                           SuggestionsBuilder builder) {
+        String search = builder.getRemainingLowerCase();
+
+        for (MissedFirePolicy policy : MissedFirePolicy.values()) {
+            if (policy.serialize().startsWith(search)) {
+                builder.suggest(policy.serialize());
+            }
+        }
+
+        return builder.buildFuture();
+    }
+
+    private CompletableFuture<Suggestions> suggestAudiences(CommandContext<CommandSourceStack> ctx,
+                                                            SuggestionsBuilder builder) {
+        String search = builder.getRemainingLowerCase();
+        List<String> options = new ArrayList<>(List.of("everyone", "permission:", "players:"));
+        Bukkit.getWorlds().forEach(world -> options.add("world:" + world.getName()));
+
+        options.stream().filter(option -> option.toLowerCase().startsWith(search)).forEach(builder::suggest);
+
+        return builder.buildFuture();
+    }
+
+    private CompletableFuture<Suggestions> suggestFiles(CommandContext<CommandSourceStack> ctx,
+                                                        SuggestionsBuilder builder) {
+        String search = builder.getRemainingLowerCase();
+
+        try (Stream<Path> files = Files.list(plugin.getDataFolder().toPath())) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> TimerFileFormat.of(name) != null)
+                    .filter(name -> name.toLowerCase().startsWith(search))
+                    .forEach(builder::suggest);
+        } catch (IOException ignored) {
+        }
+
+        return builder.buildFuture();
+    }
+
+    private static String describe(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof NoSuchFileException ? "file not found"
+                                                    : cause.getMessage() != null ? cause.getMessage()
+                                                                                 : cause.getClass().getSimpleName();
+    }
+
+    private static String getTimerId(CommandContext<CommandSourceStack> ctx) {
+        try {
+            return ctx.getArgument("id", String.class);
+        } catch (IllegalArgumentException e) {
+            return TimerRegistry.DEFAULT_ID;
+        }
+    }
+
     private enum TimerType {
         DURATION,
         END_TIME,
         INFINITE
     }
+
+    private enum ScheduleType {
+        EVERY,
+        DAILY,
+        AT
+    }
 }
\ No newline at end of file
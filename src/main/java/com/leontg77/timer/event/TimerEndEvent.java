@@ -0,0 +1,67 @@
+package com.leontg77.timer.event;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called once when a timer stops, either because its countdown reached zero or because it was cancelled.
+ * <br>Asynchronous when the timer stops off the main thread, such as on region threaded servers.
+ */
+public final class TimerEndEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final String id;
+    private final Component message;
+    private final Reason reason;
+
+    public TimerEndEvent(@NotNull String id, @NotNull Component message, @NotNull Reason reason) {
+        super(!Bukkit.isPrimaryThread());
+        this.id = id;
+        this.message = message;
+        this.reason = reason;
+    }
+
+    public @NotNull String getId() {
+        return id;
+    }
+
+    public @NotNull Component getMessage() {
+        return message;
+    }
+
+    public @NotNull Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Check whether anything listens to this event, so it's only created when needed.
+     *
+     * @return True if there are listeners.
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    public enum Reason {
+        /**
+         * The countdown reached zero.
+         */
+        ENDED,
+        /**
+         * The timer was cancelled or replaced.
+         */
+        CANCELLED
+    }
+}
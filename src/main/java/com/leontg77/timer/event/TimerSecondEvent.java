@@ -0,0 +1,67 @@
+package com.leontg77.timer.event;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when the remaining seconds of a countdown change.
+ * <br>Only created when there are listeners, so this costs nothing otherwise. A lagging server may skip seconds, use
+ * {@link #getRemaining()} rather than counting events.
+ * <br>Asynchronous on region threaded servers, where timers are ticked off the main thread.
+ */
+public final class TimerSecondEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final String id;
+    private final long remaining;
+    private final long total;
+
+    public TimerSecondEvent(@NotNull String id, long remaining, long total) {
+        super(!Bukkit.isPrimaryThread());
+        this.id = id;
+        this.remaining = remaining;
+        this.total = total;
+    }
+
+    public @NotNull String getId() {
+        return id;
+    }
+
+    /**
+     * Get the whole seconds remaining.
+     *
+     * @return The remaining seconds, 0 once the timer has ended.
+     */
+    public long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Get the length of the countdown.
+     *
+     * @return The total seconds.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Check whether anything listens to this event, so it's only created when needed.
+     *
+     * @return True if there are listeners.
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
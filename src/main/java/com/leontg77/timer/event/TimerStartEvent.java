@@ -0,0 +1,65 @@
+package com.leontg77.timer.event;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Called when a timer starts, including timers resumed on startup, started by a schedule or received from another
+ * server.
+ * <br>Asynchronous when timers are started off the main thread, such as on region threaded servers.
+ */
+public final class TimerStartEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final String id;
+    private final Component message;
+    private final Instant endTime;
+
+    public TimerStartEvent(@NotNull String id, @NotNull Component message, @Nullable Instant endTime) {
+        super(!Bukkit.isPrimaryThread());
+        this.id = id;
+        this.message = message;
+        this.endTime = endTime;
+    }
+
+    public @NotNull String getId() {
+        return id;
+    }
+
+    public @NotNull Component getMessage() {
+        return message;
+    }
+
+    /**
+     * Get the time the timer ends.
+     *
+     * @return The end time, or null for an infinite timer.
+     */
+    public @Nullable Instant getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Check whether anything listens to this event, so it's only created when needed.
+     *
+     * @return True if there are listeners.
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,226 @@
+package com.leontg77.timer.format;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Formats second counts as friendly ({@code 1h 2m 3s}) or clock ({@code 1:02:03}) time.
+ * <br>Formatting uses integer arithmetic and a reusable per-thread buffer, and the strings for recently formatted
+ * values are kept in a small direct-mapped cache, so repeatedly asking for the same second is allocation free.
+ * <br>Instances are safe to use from any thread.
+ */
+public final class DurationFormatter {
+    /**
+     * Placeholder for the unit value in unit patterns.
+     */
+    public static final String VALUE_PLACEHOLDER = "{n}";
+
+    public static final DurationFormatter DEFAULT = new DurationFormatter("{n}d", "{n}h", "{n}m", "{n}s", " ", ":");
+
+    private static final long SECONDS_PER_DAY = 86400;
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private static final int CACHE_SIZE = 64;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private final UnitPattern days;
+    private final UnitPattern hours;
+    private final UnitPattern minutes;
+    private final UnitPattern seconds;
+    private final String separator;
+    private final String clockSeparator;
+
+    private final CacheEntry[] friendlyCache = new CacheEntry[CACHE_SIZE];
+    private final CacheEntry[] clockCache = new CacheEntry[CACHE_SIZE];
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Create a formatter with the given unit patterns.
+     * <br>Each pattern must contain {@value #VALUE_PLACEHOLDER}, which is replaced with the value of that unit.
+     *
+     * @param days The pattern for days in friendly time.
+     * @param hours The pattern for hours in friendly time.
+     * @param minutes The pattern for minutes in friendly time.
+     * @param seconds The pattern for seconds in friendly time.
+     * @param separator The separator between units in friendly time.
+     * @param clockSeparator The separator between units in clock time.
+     * @throws IllegalArgumentException If a pattern doesn't contain the value placeholder.
+     */
+    public DurationFormatter(@NotNull String days, @NotNull String hours, @NotNull String minutes,
+                             @NotNull String seconds, @NotNull String separator, @NotNull String clockSeparator) {
+        this.days = UnitPattern.parse(days);
+        this.hours = UnitPattern.parse(hours);
+        this.minutes = UnitPattern.parse(minutes);
+        this.seconds = UnitPattern.parse(seconds);
+        this.separator = separator;
+        this.clockSeparator = clockSeparator;
+    }
+
+    /**
+     * Converts the seconds into a string with days, hours, minutes and seconds, omitting empty units.
+     *
+     * @param value The number of seconds.
+     * @return The friendly time.
+     */
+    public String friendly(long value) {
+        int slot = (int) (value & (CACHE_SIZE - 1));
+        CacheEntry entry = friendlyCache[slot];
+
+        if (entry != null && entry.seconds == value) {
+            cacheHits.increment();
+            return entry.text;
+        }
+
+        cacheMisses.increment();
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        appendFriendly(buffer, value);
+
+        String text = buffer.toString();
+        friendlyCache[slot] = new CacheEntry(value, text);
+        return text;
+    }
+
+    /**
+     * Converts the seconds into a clock style string, with days and hours only included when non-zero.
+     *
+     * @param value The number of seconds.
+     * @return The clock time.
+     */
+    public String clock(long value) {
+        int slot = (int) (value & (CACHE_SIZE - 1));
+        CacheEntry entry = clockCache[slot];
+
+        if (entry != null && entry.seconds == value) {
+            cacheHits.increment();
+            return entry.text;
+        }
+
+        cacheMisses.increment();
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        appendClock(buffer, value);
+
+        String text = buffer.toString();
+        clockCache[slot] = new CacheEntry(value, text);
+        return text;
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public void resetCacheStats() {
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+
+    /**
+     * Append the friendly time for the given seconds to a buffer.
+     *
+     * @param buffer The buffer to append to.
+     * @param value The number of seconds.
+     */
+    public void appendFriendly(StringBuilder buffer, long value) {
+        long days = Math.floorDiv(value, SECONDS_PER_DAY);
+        long rest = Math.floorMod(value, SECONDS_PER_DAY);
+        long hours = rest / SECONDS_PER_HOUR;
+        rest %= SECONDS_PER_HOUR;
+        long minutes = rest / SECONDS_PER_MINUTE;
+        long seconds = rest % SECONDS_PER_MINUTE;
+
+        int start = buffer.length();
+
+        if (days > 0) {
+            this.days.append(buffer, days);
+        }
+
+        if (hours > 0) {
+            appendSeparator(buffer, start);
+            this.hours.append(buffer, hours);
+        }
+
+        if (minutes > 0) {
+            appendSeparator(buffer, start);
+            this.minutes.append(buffer, minutes);
+        }
+
+        if (seconds > 0 || buffer.length() == start) {
+            appendSeparator(buffer, start);
+            this.seconds.append(buffer, seconds);
+        }
+    }
+
+    /**
+     * Append the clock time for the given seconds to a buffer.
+     *
+     * @param buffer The buffer to append to.
+     * @param value The number of seconds.
+     */
+    public void appendClock(StringBuilder buffer, long value) {
+        long days = Math.floorDiv(value, SECONDS_PER_DAY);
+        long rest = Math.floorMod(value, SECONDS_PER_DAY);
+        long hours = rest / SECONDS_PER_HOUR;
+        rest %= SECONDS_PER_HOUR;
+        long minutes = rest / SECONDS_PER_MINUTE;
+        long seconds = rest % SECONDS_PER_MINUTE;
+
+        if (days > 0) {
+            buffer.append(days).append(clockSeparator);
+        }
+
+        if (hours > 0) {
+            buffer.append(hours).append(clockSeparator);
+        }
+
+        appendTwoDigits(buffer, minutes);
+        buffer.append(clockSeparator);
+        appendTwoDigits(buffer, seconds);
+    }
+
+    private void appendSeparator(StringBuilder buffer, int start) {
+        if (buffer.length() > start) {
+            buffer.append(separator);
+        }
+    }
+
+    private static void appendTwoDigits(StringBuilder buffer, long value) {
+        if (value < 10) {
+            buffer.append('0');
+        }
+
+        buffer.append(value);
+    }
+
+    private record CacheEntry(long seconds, String text) {
+    }
+
+    /**
+     * A unit pattern split around its value placeholder.
+     */
+    private record UnitPattern(String prefix, String suffix) {
+        static UnitPattern parse(String pattern) {
+            int index = pattern.indexOf(VALUE_PLACEHOLDER);
+
+            if (index == -1) {
+                throw new IllegalArgumentException("Unit pattern \"" + pattern + "\" is missing " + VALUE_PLACEHOLDER);
+            }
+
+            return new UnitPattern(pattern.substring(0, index),
+                                   pattern.substring(index + VALUE_PLACEHOLDER.length()));
+        }
+
+        void append(StringBuilder buffer, long value) {
+            buffer.append(prefix).append(value).append(suffix);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.leontg77.timer.handling;
+
+import java.util.Locale;
+
+/**
+ * Places a timer can be displayed.
+ */
+public enum DisplayType {
+    BOSSBAR, ACTIONBAR, TITLE, SIDEBAR;
+
+    /**
+     * Get the display type with the given config name.
+     *
+     * @param name The name, case insensitive.
+     * @return The display type.
+     * @throws IllegalArgumentException If there is no display type with that name.
+     */
+    public static DisplayType parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -27,27 +27,67 @@
 
 package com.leontg77.timer.handling;
 
-
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.render.LocalizedText;
 import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.function.Consumer;
 
 /**
  * Timer handler super interface.
+ * <br>Handlers go through attach, show, hide and dispose. A handler is attached to its viewers by {@link #show}, and
+ * {@link #hide} must eventually dispose it, after which it receives no further events and must not be used again.
  *
  * @author LeonTG
  */
 public interface TimerHandler {
     /**
      * Start the timer handler.
+     * <br>Attaches the handler if it isn't attached yet.
      *
      * @param text The text to display on it.
      */
     void show(Component text);
 
     /**
-     * Stop the timer handler.
+     * Start the timer handler with text rendered for each viewer's locale.
+     * <br>Handlers which show the same text to everyone use the text for the default locale.
+     *
+     * @param text The text to display on it.
+     */
+    default void show(LocalizedText text) {
+        show(text.render(Locale.ROOT));
+    }
+
+    /**
+     * Stop the timer handler, and dispose of it once hidden.
      */
     void hide();
 
+    /**
+     * Start receiving viewer updates, such as players joining.
+     */
+    default void attach() {
+
+    }
+
+    /**
+     * Stop receiving viewer updates, without hiding from current viewers.
+     */
+    default void detach() {
+
+    }
+
+    /**
+     * Release everything held by this handler.
+     * <br>Detaches the handler if it's still attached.
+     */
+    default void dispose() {
+        detach();
+    }
+
     /**
      * Send a new packet of the text for the timer handler.
      *
@@ -55,7 +95,81 @@ public interface TimerHandler {
      */
     void setText(Component text);
 
+    /**
+     * Update the text, rendered for each viewer's locale.
+     * <br>Handlers which show the same text to everyone use the text for the default locale.
+     *
+     * @param text The new text.
+     */
+    default void setText(LocalizedText text) {
+        setText(text.render(Locale.ROOT));
+    }
+
+    /**
+     * Update the progress shown by the handler to the fraction of the timer left.
+     *
+     * @param remaining The remaining seconds.
+     * @param total The total seconds.
+     */
     default void updateProgress(long remaining, long total) {
+        setProgress(total > 0 ? (float) remaining / total : 0.0F);
+    }
+
+    /**
+     * Update the progress shown by the handler.
+     *
+     * @param progress The fraction of the timer left, between 0 and 1.
+     */
+    default void setProgress(float progress) {
+
+    }
+
+    /**
+     * Send the changes made since the last flush.
+     * <br>Called once per timer update, after the text and progress have been set, so handlers may buffer those
+     * changes and send them together.
+     */
+    default void flush() {
+
+    }
+
+    /**
+     * Change who the handler is shown to.
+     *
+     * @param audience The new audience.
+     */
+    default void setAudience(@NotNull TimerAudience audience) {
 
     }
+
+    /**
+     * Run an action for this handler, and any handlers it delegates to, of the given type.
+     *
+     * @param type The handler type.
+     * @param action The action to run.
+     * @param <T> The handler type.
+     */
+    default <T extends TimerHandler> void forEach(@NotNull Class<T> type, @NotNull Consumer<T> action) {
+        if (type.isInstance(this)) {
+            action.accept(type.cast(this));
+        }
+    }
+
+    /**
+     * Get the number of updates sent by this handler, for metrics.
+     *
+     * @return The update count.
+     */
+    default long getUpdateCount() {
+        return 0;
+    }
+
+    /**
+     * Get the number of players currently viewing this handler, for metrics.
+     *
+     * @return The viewer count.
+     */
+    default int getViewerCount() {
+        return 0;
+    }
 }
\ No newline at end of file
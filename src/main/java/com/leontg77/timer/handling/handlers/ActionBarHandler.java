@@ -0,0 +1,71 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.render.LocalizedText;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Action bar timer handler.
+ * <br>Unchanged text is kept on screen by the shared {@link ActionBarResender}.
+ */
+public final class ActionBarHandler extends AudienceHandler {
+    private final ActionBarResender resender;
+    private volatile long lastSent = 0;
+
+    public ActionBarHandler(TaskScheduler scheduler, AudienceIndex audiences, ActionBarResender resender,
+                            TimerAudience audience) {
+        super(scheduler, audiences, audience);
+        this.resender = resender;
+    }
+
+    @Override
+    public synchronized void attach() {
+        super.attach();
+
+        if (isAttached()) {
+            resender.register(this);
+        }
+    }
+
+    @Override
+    public synchronized void detach() {
+        resender.unregister(this);
+        super.detach();
+    }
+
+    @Override
+    protected void showTo(Player player, Component text) {
+        player.sendActionBar(text);
+    }
+
+    @Override
+    protected void hideFrom(Player player) {
+        player.sendActionBar(Component.empty());
+    }
+
+    @Override
+    protected void update(Collection<Player> viewers, Component text) {
+        super.update(viewers, text);
+        lastSent = System.currentTimeMillis();
+    }
+
+    /**
+     * Send the current text to every viewer again if it was last sent before the given time.
+     *
+     * @param staleBefore The time in epoch milliseconds.
+     */
+    void resendIfStale(long staleBefore) {
+        LocalizedText text = getText();
+
+        if (text == null || lastSent >= staleBefore) {
+            return;
+        }
+
+        send(text);
+    }
+}
@@ -0,0 +1,50 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.scheduler.TaskScheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps action bars from fading out.
+ * <br>The client fades an action bar out after about 2 seconds, so text that hasn't changed recently is sent again.
+ * Every {@link ActionBarHandler} is resent from one shared pass over all viewers, rather than a task per player, and
+ * the task only exists while an action bar handler is attached.
+ */
+public final class ActionBarResender {
+    private static final long PERIOD = 20L;
+    private static final long RESEND_AFTER_MILLIS = 1500L;
+
+    private final TaskScheduler scheduler;
+    private final Set<ActionBarHandler> handlers = ConcurrentHashMap.newKeySet();
+    private TaskScheduler.TaskHandle task = null;
+
+    public ActionBarResender(TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    synchronized void register(ActionBarHandler handler) {
+        handlers.add(handler);
+
+        if (task == null) {
+            task = scheduler.runTimer(this::resend, PERIOD, PERIOD);
+        }
+    }
+
+    synchronized void unregister(ActionBarHandler handler) {
+        handlers.remove(handler);
+
+        if (task != null && handlers.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void resend() {
+        long staleBefore = System.currentTimeMillis() - RESEND_AFTER_MILLIS;
+
+        for (ActionBarHandler handler : handlers) {
+            handler.resendIfStale(staleBefore);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.render.LocalizedText;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base for handlers which show the timer text to the members of an audience.
+ * <br>New text is buffered by {@link #setText} and sent once per {@link #flush()}, membership changes are pushed from
+ * the {@link AudienceIndex} like for {@link BossBarHandler}.
+ * <br>Text is rendered once per locale bucket of the audience and sent to that bucket, so viewers see the text for
+ * their own locale.
+ */
+abstract class AudienceHandler implements TimerHandler, AudienceIndex.MembershipListener {
+    protected final TaskScheduler scheduler;
+    private final AudienceIndex audiences;
+    private final LongAdder updates = new LongAdder();
+
+    private volatile TimerAudience audience;
+    private volatile AudienceIndex.Subscription subscription = null;
+    private volatile boolean disposed = false;
+    private volatile LocalizedText text = null;
+    private LocalizedText pendingText = null;
+
+    protected AudienceHandler(TaskScheduler scheduler, AudienceIndex audiences, TimerAudience audience) {
+        this.scheduler = scheduler;
+        this.audiences = audiences;
+        this.audience = audience;
+    }
+
+    /**
+     * Show the text to a player who has just become a viewer.
+     *
+     * @param player The player.
+     * @param text The current text.
+     */
+    protected abstract void showTo(Player player, Component text);
+
+    /**
+     * Remove the text from a player who is no longer a viewer.
+     *
+     * @param player The player.
+     */
+    protected abstract void hideFrom(Player player);
+
+    /**
+     * Send changed text to every current viewer.
+     *
+     * @param viewers The viewers.
+     * @param text The new text.
+     */
+    protected void update(Collection<Player> viewers, Component text) {
+        viewers.forEach(player -> showTo(player, text));
+    }
+
+    /**
+     * Whether the display can show each viewer the text for their own locale.
+     * <br>Displays shared by every viewer show the text for the default locale.
+     *
+     * @return True if the text is rendered per locale.
+     */
+    protected boolean isLocalized() {
+        return true;
+    }
+
+    @Override
+    public void show(Component text) {
+        show(LocalizedText.of(text));
+    }
+
+    @Override
+    public void show(LocalizedText text) {
+        if(disposed) {
+            throw new IllegalStateException("Handler has been disposed");
+        }
+
+        this.text = text;
+        attach();
+
+        subscription.getViewers().forEach(p -> scheduler.runForEntity(p, () -> showTo(p, render(text, p.locale()))));
+    }
+
+    @Override
+    public void hide() {
+        scheduler.runLater(() -> {
+            AudienceIndex.Subscription viewers = subscription;
+
+            detach();
+
+            if (viewers != null) {
+                viewers.getViewers().forEach(p -> scheduler.runForEntity(p, () -> hideFrom(p)));
+            }
+
+            dispose();
+        }, 20L);
+    }
+
+    @Override
+    public synchronized void attach() {
+        if(subscription == null && !disposed) {
+            subscription = audiences.subscribe(audience, this);
+        }
+    }
+
+    @Override
+    public synchronized void detach() {
+        if(subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        detach();
+        disposed = true;
+        text = null;
+    }
+
+    @Override
+    public void setText(Component text) {
+        setText(LocalizedText.of(text));
+    }
+
+    @Override
+    public synchronized void setText(LocalizedText text) {
+        pendingText = text;
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (pendingText == null || subscription == null) {
+            return;
+        }
+
+        if (!pendingText.equals(text)) {
+            text = pendingText;
+            send(pendingText);
+            updates.increment();
+        }
+
+        pendingText = null;
+    }
+
+    /**
+     * Send text to every current viewer, rendered once per locale bucket.
+     *
+     * @param text The text.
+     */
+    protected void send(LocalizedText text) {
+        AudienceIndex.Subscription viewers = subscription;
+
+        if (viewers == null) {
+            return;
+        }
+
+        if (!isLocalized()) {
+            update(viewers.getViewers(), text.render(Locale.ROOT));
+            return;
+        }
+
+        viewers.getViewersByLocale().forEach((locale, players) -> update(players, text.render(locale)));
+    }
+
+    private Component render(LocalizedText text, Locale locale) {
+        return text.render(isLocalized() ? locale : Locale.ROOT);
+    }
+
+    @Override
+    public void setAudience(@NotNull TimerAudience newAudience) {
+        AudienceIndex.Subscription previous;
+        AudienceIndex.Subscription next;
+
+        synchronized (this) {
+            this.audience = newAudience;
+            previous = subscription;
+
+            if (previous == null) {
+                return;
+            }
+
+            next = audiences.subscribe(newAudience, this);
+            subscription = next;
+            previous.cancel();
+        }
+
+        LocalizedText current = text;
+        Set<Player> remaining = new HashSet<>(next.getViewers());
+
+        for (Player player : previous.getViewers()) {
+            if (!remaining.remove(player)) {
+                scheduler.runForEntity(player, () -> hideFrom(player));
+            }
+        }
+
+        if (current != null) {
+            remaining.forEach(p -> scheduler.runForEntity(p, () -> showTo(p, render(current, p.locale()))));
+        }
+    }
+
+    /**
+     * Get the text currently shown to viewers.
+     *
+     * @return The text, or null if the handler isn't showing.
+     */
+    protected @Nullable LocalizedText getText() {
+        return text;
+    }
+
+    protected boolean isAttached() {
+        return subscription != null;
+    }
+
+    /**
+     * Get the current viewers.
+     *
+     * @return A live, unmodifiable view of the viewers, empty if the handler isn't attached.
+     */
+    protected Collection<Player> getViewers() {
+        AudienceIndex.Subscription viewers = subscription;
+        return viewers != null ? viewers.getViewers() : List.of();
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    @Override
+    public int getViewerCount() {
+        return getViewers().size();
+    }
+
+    @Override
+    public void onJoin(@NotNull Player player) {
+        scheduler.runForEntityLater(player, () -> {
+            LocalizedText current = text;
+
+            if (current != null) {
+                showTo(player, render(current, player.locale()));
+            }
+        }, 1L);
+    }
+
+    @Override
+    public void onLocaleChange(@NotNull Player player, @NotNull Locale locale) {
+        LocalizedText current = text;
+
+        if (current != null && isLocalized()) {
+            scheduler.runForEntity(player, () -> showTo(player, current.render(locale)));
+        }
+    }
+
+    @Override
+    public void onLeave(@NotNull Player player) {
+        scheduler.runForEntity(player, () -> hideFrom(player));
+    }
+}
@@ -25,58 +25,145 @@
  * THE SOFTWARE.
  */
 
+
 package com.leontg77.timer.handling.handlers;
 
-import com.leontg77.timer.Main;
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
 import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.render.LocalizedText;
+import com.leontg77.timer.scheduler.TaskScheduler;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerJoinEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Boss bar timer handler.
+ * <br>The bar is only shown to the timer's audience, with membership changes pushed from the {@link AudienceIndex},
+ * so showing and hiding only touches actual viewers.
+ * <br>There is one bar per resolved locale among the viewers, created the first time the locale is seen, so the text
+ * is rendered once per locale rather than per player. Viewers are moved between bars when their locale changes.
+ * <br>Showing and hiding the bar is dispatched to each player's own scheduler, so this works on region threaded
+ * servers.
+ * <br>Text, progress and style changes are buffered and sent together on {@link #flush()}, and progress changes
+ * that wouldn't move the bar by a whole pixel on the client are dropped.
  *
  * @author LeonTG
  */
-public final class BossBarHandler implements TimerHandler, Listener {
-    private final Main plugin;
+public final class BossBarHandler implements TimerHandler, AudienceIndex.MembershipListener {
+    /**
+     * Width of the filled part of a full bar, in client pixels.
+     */
+    public static final int PROGRESS_PIXELS = 183;
 
-    public BossBarHandler(BossBar.Color color, BossBar.Overlay style) {
-        this.plugin = Main.getInstance();
+    private final TaskScheduler scheduler;
+    private final AudienceIndex audiences;
+    private final BossBarPool pool;
+    private final LongAdder updates = new LongAdder();
+    private final Map<Locale, BossBar> bars = new ConcurrentHashMap<>();
+
+    public BossBarHandler(TaskScheduler scheduler, AudienceIndex audiences, BossBarPool pool, TimerAudience audience,
+                          BossBar.Color color, BossBar.Overlay style) {
+        this.scheduler = scheduler;
+        this.audiences = audiences;
+        this.pool = pool;
+        this.audience = audience;
         this.color = color;
         this.style = style;
-
-        Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
-    private BossBar bossBar = null;
-    private BossBar.Color color;
-    private BossBar.Overlay style;
+    private volatile AudienceIndex.Subscription subscription = null;
+    private volatile boolean disposed = false;
+    private volatile LocalizedText text = null;
+    private volatile float progress = BossBar.MAX_PROGRESS;
+    private volatile BossBar.Color color;
+    private volatile BossBar.Overlay style;
+    private TimerAudience audience;
+
+    private LocalizedText pendingText = null;
+    private float pendingProgress = Float.NaN;
+    private boolean pendingStyle = false;
 
     @Override
     public void show(Component text) {
-        if(bossBar == null) {
-            bossBar = BossBar.bossBar(text, 1.0f, color, style);
+        show(LocalizedText.of(text));
+    }
+
+    @Override
+    public void show(LocalizedText text) {
+        if(disposed) {
+            throw new IllegalStateException("Handler has been disposed");
         }
 
-        Bukkit.getOnlinePlayers().forEach(p -> p.showBossBar(bossBar));
+        this.text = text;
+        attach();
+
+        subscription.getViewersByLocale().forEach((locale, players) -> {
+            BossBar bar = getBar(text, locale);
+            players.forEach(p -> scheduler.runForEntity(p, () -> p.showBossBar(bar)));
+        });
     }
 
     @Override
     public void hide() {
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            Bukkit.getOnlinePlayers().forEach(p -> p.hideBossBar(bossBar));
-            bossBar = null;
+        scheduler.runLater(() -> {
+            AudienceIndex.Subscription viewers = subscription;
+
+            detach();
+
+            if (viewers != null) {
+                viewers.getViewers().forEach(this::hideAll);
+            }
+
+            dispose();
         }, 20L);
     }
 
+    @Override
+    public synchronized void attach() {
+        if(subscription == null && !disposed) {
+            subscription = audiences.subscribe(audience, this);
+        }
+    }
+
+    @Override
+    public synchronized void detach() {
+        if(subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Detach the handler and return its bars to the pool.
+     * <br>Callers must hide the bars from their viewers first, bars still being viewed aren't pooled.
+     */
+    @Override
+    public synchronized void dispose() {
+        detach();
+        disposed = true;
+
+        bars.values().forEach(pool::release);
+        bars.clear();
+    }
+
     @Override
     public void setText(Component text) {
-        bossBar.name(text);
+        setText(LocalizedText.of(text));
+    }
+
+    @Override
+    public synchronized void setText(LocalizedText text) {
+        pendingText = text;
     }
 
     /**
@@ -85,36 +172,194 @@ public final class BossBarHandler implements TimerHandler, Listener {
      * @param newColor The new color.
      * @param newStyle The new style.
      */
-    public void setStyle(BossBar.Color newColor, BossBar.Overlay newStyle) {
+    public synchronized void setStyle(BossBar.Color newColor, BossBar.Overlay newStyle) {
         this.color = newColor;
         this.style = newStyle;
+        this.pendingStyle = true;
 
-        if (bossBar == null) {
-            return;
+        flush();
+    }
+
+    public TimerAudience getAudience() {
+        return audience;
+    }
+
+    /**
+     * Change who this boss bar is shown to.
+     * <br>Only players entering or leaving the audience are sent updates.
+     *
+     * @param newAudience The new audience.
+     */
+    @Override
+    public void setAudience(@NotNull TimerAudience newAudience) {
+        AudienceIndex.Subscription previous;
+        AudienceIndex.Subscription next;
+
+        synchronized (this) {
+            this.audience = newAudience;
+            previous = subscription;
+
+            if (previous == null) {
+                return;
+            }
+
+            next = audiences.subscribe(newAudience, this);
+            subscription = next;
+            previous.cancel();
+        }
+
+        Set<Player> remaining = new HashSet<>(next.getViewers());
+
+        for (Player player : previous.getViewers()) {
+            if (!remaining.remove(player)) {
+                hideAll(player);
+            }
+        }
+
+        LocalizedText current = text;
+
+        if (current != null) {
+            for (Player player : remaining) {
+                BossBar bar = getBar(current, player.locale());
+                scheduler.runForEntity(player, () -> player.showBossBar(bar));
+            }
         }
+    }
 
-        bossBar.color(color);
-        bossBar.overlay(style);
+    @Override
+    public synchronized void setProgress(float progress) {
+        pendingProgress = Math.clamp(progress, BossBar.MIN_PROGRESS, BossBar.MAX_PROGRESS);
     }
 
     /**
-     * Update the progress bar on the dragon timer.
+     * Send the buffered text, progress and style changes.
+     * <br>Each property is sent at most once per bar, and only if it differs from what the viewers already see.
+     */
+    @Override
+    public synchronized void flush() {
+        if (pendingText != null) {
+            text = pendingText;
+
+            for (Map.Entry<Locale, BossBar> entry : bars.entrySet()) {
+                Component name = pendingText.render(entry.getKey());
+                BossBar bar = entry.getValue();
+
+                if (!name.equals(bar.name())) {
+                    bar.name(name);
+                    updates.increment();
+                }
+            }
+
+            pendingText = null;
+        }
+
+        if (!Float.isNaN(pendingProgress)) {
+            if (toPixels(pendingProgress) != toPixels(progress)) {
+                progress = pendingProgress;
+
+                for (BossBar bar : bars.values()) {
+                    bar.progress(progress);
+                    updates.increment();
+                }
+            }
+
+            pendingProgress = Float.NaN;
+        }
+
+        if (pendingStyle) {
+            for (BossBar bar : bars.values()) {
+                if (bar.color() != color) {
+                    bar.color(color);
+                    updates.increment();
+                }
+
+                if (bar.overlay() != style) {
+                    bar.overlay(style);
+                    updates.increment();
+                }
+            }
+
+            pendingStyle = false;
+        }
+    }
+
+    /**
+     * Get the bar for a client locale, creating it in the current state the first time its resolved locale is seen.
      *
-     * @param remaining The remaining seconds.
-     * @param total The total seconds.
+     * @param text The current text.
+     * @param locale The client locale.
+     * @return The bar.
      */
-    public void updateProgress(long remaining, long total) {
-        bossBar.progress(((float) remaining) / ((float) total));
+    private BossBar getBar(LocalizedText text, Locale locale) {
+        return bars.computeIfAbsent(text.resolve(locale),
+                                    resolved -> pool.acquire(text.render(resolved), color, style).progress(progress));
     }
 
-    @EventHandler
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
+    /**
+     * Hide every bar of this handler from a player.
+     *
+     * @param player The player.
+     */
+    private void hideAll(Player player) {
+        List<BossBar> shown = List.copyOf(bars.values());
+        scheduler.runForEntity(player, () -> shown.forEach(player::hideBossBar));
+    }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (bossBar != null) {
-                player.showBossBar(bossBar);
+    /**
+     * Get the filled width the client draws for a progress value.
+     *
+     * @param progress The progress, between 0 and 1.
+     * @return The width in pixels.
+     */
+    static int toPixels(float progress) {
+        return (int) (progress * PROGRESS_PIXELS);
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    @Override
+    public int getViewerCount() {
+        AudienceIndex.Subscription viewers = subscription;
+        return viewers != null ? viewers.getViewers().size() : 0;
+    }
+
+    @Override
+    public void onJoin(@NotNull Player player) {
+        scheduler.runForEntityLater(player, () -> {
+            LocalizedText current = text;
+
+            if (current != null && !disposed) {
+                player.showBossBar(getBar(current, player.locale()));
             }
+        }, 1L);
+    }
+
+    @Override
+    public void onLeave(@NotNull Player player) {
+        hideAll(player);
+    }
+
+    @Override
+    public void onLocaleChange(@NotNull Player player, @NotNull Locale locale) {
+        LocalizedText current = text;
+
+        if (current == null || disposed) {
+            return;
+        }
+
+        scheduler.runForEntity(player, () -> {
+            BossBar bar = getBar(current, locale);
+
+            for (BossBar other : bars.values()) {
+                if (other != bar) {
+                    player.hideBossBar(other);
+                }
+            }
+
+            player.showBossBar(bar);
         });
     }
-}
\ No newline at end of file
+}
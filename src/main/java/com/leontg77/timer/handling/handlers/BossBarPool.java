@@ -0,0 +1,64 @@
+package com.leontg77.timer.handling.handlers;
+
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Bounded pool of boss bars released by disposed {@link BossBarHandler BossBarHandlers}.
+ * <br>Bars are only pooled once nobody is viewing them, so a reused bar can never still be shown to a previous
+ * timer's audience.
+ */
+public final class BossBarPool {
+    private final int capacity;
+    private final Deque<BossBar> bars;
+
+    public BossBarPool(int capacity) {
+        this.capacity = capacity;
+        this.bars = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Take a bar from the pool, or create a new one if it's empty.
+     *
+     * @param name The name of the bar.
+     * @param color The color of the bar.
+     * @param overlay The overlay of the bar.
+     * @return A bar with the given properties, full progress and no flags.
+     */
+    public BossBar acquire(@NotNull Component name, @NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+        BossBar bar;
+
+        synchronized (bars) {
+            bar = bars.pollFirst();
+        }
+
+        if (bar == null) {
+            return BossBar.bossBar(name, BossBar.MAX_PROGRESS, color, overlay);
+        }
+
+        return bar.name(name).progress(BossBar.MAX_PROGRESS).color(color).overlay(overlay).flags(Set.of());
+    }
+
+    /**
+     * Return a bar to the pool.
+     * <br>Bars which are still being viewed, or which don't fit in the pool, are left for the garbage collector.
+     *
+     * @param bar The bar to release.
+     */
+    public void release(@NotNull BossBar bar) {
+        if (bar.viewers().iterator().hasNext()) {
+            return;
+        }
+
+        synchronized (bars) {
+            if (bars.size() < capacity) {
+                bars.offerFirst(bar);
+            }
+        }
+    }
+}
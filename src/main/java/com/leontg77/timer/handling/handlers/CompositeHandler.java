@@ -0,0 +1,98 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.render.LocalizedText;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Handler which fans a timer out to several displays.
+ * <br>The timer renders its text once per update and locale and every display gets that same component, so showing a
+ * countdown in several places doesn't render it several times.
+ */
+public final class CompositeHandler implements TimerHandler {
+    private final List<TimerHandler> handlers;
+
+    public CompositeHandler(@NotNull List<TimerHandler> handlers) {
+        this.handlers = List.copyOf(handlers);
+    }
+
+    @Override
+    public void show(Component text) {
+        handlers.forEach(handler -> handler.show(text));
+    }
+
+    @Override
+    public void show(LocalizedText text) {
+        handlers.forEach(handler -> handler.show(text));
+    }
+
+    @Override
+    public void hide() {
+        handlers.forEach(TimerHandler::hide);
+    }
+
+    @Override
+    public void attach() {
+        handlers.forEach(TimerHandler::attach);
+    }
+
+    @Override
+    public void detach() {
+        handlers.forEach(TimerHandler::detach);
+    }
+
+    @Override
+    public void dispose() {
+        handlers.forEach(TimerHandler::dispose);
+    }
+
+    @Override
+    public void setText(Component text) {
+        handlers.forEach(handler -> handler.setText(text));
+    }
+
+    @Override
+    public void setText(LocalizedText text) {
+        handlers.forEach(handler -> handler.setText(text));
+    }
+
+    @Override
+    public void updateProgress(long remaining, long total) {
+        handlers.forEach(handler -> handler.updateProgress(remaining, total));
+    }
+
+    @Override
+    public void setProgress(float progress) {
+        handlers.forEach(handler -> handler.setProgress(progress));
+    }
+
+    @Override
+    public void flush() {
+        handlers.forEach(TimerHandler::flush);
+    }
+
+    @Override
+    public void setAudience(@NotNull TimerAudience audience) {
+        handlers.forEach(handler -> handler.setAudience(audience));
+    }
+
+    @Override
+    public <T extends TimerHandler> void forEach(@NotNull Class<T> type, @NotNull Consumer<T> action) {
+        handlers.forEach(handler -> handler.forEach(type, action));
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return handlers.stream().mapToLong(TimerHandler::getUpdateCount).sum();
+    }
+
+    @Override
+    public int getViewerCount() {
+        return handlers.stream().mapToInt(TimerHandler::getViewerCount).sum();
+    }
+}
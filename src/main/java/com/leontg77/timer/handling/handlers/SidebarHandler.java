@@ -0,0 +1,77 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.render.LocalizedText;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import io.papermc.paper.scoreboard.numbers.NumberFormat;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scoreboard sidebar timer handler.
+ * <br>The text is the title of a sidebar on a scoreboard owned by the handler, so an update is a single objective
+ * change however many players are viewing. Viewers get their previous scoreboard back when the timer is hidden.
+ * <br>All viewers share the scoreboard, so they see the text for the default locale.
+ * <br>Scoreboards aren't supported on region threaded servers.
+ */
+public final class SidebarHandler extends AudienceHandler {
+    private final Map<UUID, Scoreboard> previous = new ConcurrentHashMap<>();
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+
+    public SidebarHandler(TaskScheduler scheduler, AudienceIndex audiences, TimerAudience audience) {
+        super(scheduler, audiences, audience);
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.objective = scoreboard.registerNewObjective("timer", Criteria.DUMMY, Component.empty());
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        this.objective.numberFormat(NumberFormat.blank());
+        this.objective.getScore(" ").setScore(0);
+    }
+
+    @Override
+    public void show(LocalizedText text) {
+        objective.displayName(text.render(Locale.ROOT));
+        super.show(text);
+    }
+
+    @Override
+    protected boolean isLocalized() {
+        return false;
+    }
+
+    @Override
+    protected void showTo(Player player, Component text) {
+        Scoreboard current = player.getScoreboard();
+
+        if (current != scoreboard) {
+            previous.put(player.getUniqueId(), current);
+            player.setScoreboard(scoreboard);
+        }
+    }
+
+    @Override
+    protected void hideFrom(Player player) {
+        Scoreboard restore = previous.remove(player.getUniqueId());
+
+        if (player.getScoreboard() == scoreboard) {
+            player.setScoreboard(restore != null ? restore : Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+    }
+
+    @Override
+    protected void update(Collection<Player> viewers, Component text) {
+        objective.displayName(text);
+    }
+}
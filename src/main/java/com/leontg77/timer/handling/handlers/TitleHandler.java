@@ -0,0 +1,41 @@
+package com.leontg77.timer.handling.handlers;
+
+import com.leontg77.timer.audience.AudienceIndex;
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Title timer handler.
+ * <br>The text is shown as a subtitle under an empty title which stays up for a day, so updates only need to resend
+ * the subtitle.
+ */
+public final class TitleHandler extends AudienceHandler {
+    private static final Title.Times TIMES = Title.Times.times(Duration.ZERO, Duration.ofDays(1),
+                                                               Duration.ofMillis(500));
+
+    public TitleHandler(TaskScheduler scheduler, AudienceIndex audiences, TimerAudience audience) {
+        super(scheduler, audiences, audience);
+    }
+
+    @Override
+    protected void showTo(Player player, Component text) {
+        player.showTitle(Title.title(Component.empty(), text, TIMES));
+    }
+
+    @Override
+    protected void hideFrom(Player player) {
+        player.clearTitle();
+    }
+
+    @Override
+    protected void update(Collection<Player> viewers, Component text) {
+        viewers.forEach(player -> player.sendTitlePart(TitlePart.SUBTITLE, text));
+    }
+}
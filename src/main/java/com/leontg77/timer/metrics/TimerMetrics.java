@@ -0,0 +1,216 @@
+package com.leontg77.timer.metrics;
+
+import com.leontg77.timer.format.DurationFormatter;
+import com.leontg77.timer.runnable.TimerRegistry;
+import com.leontg77.timer.runnable.TimerRunnable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics for the cost of the plugin: tick durations, update lateness, clock drift, handler fan-out, placeholder
+ * requests and formatter cache hits.
+ * <br>Exposed through {@code /timer stats} and as a JMX MBean, with ticks and updates also emitted as JFR events.
+ */
+public final class TimerMetrics implements TimerMetricsMBean {
+    public static final String OBJECT_NAME = "com.leontg77.timer:type=Metrics";
+    private static final int MAX_PLACEHOLDER_KEYS = 256;
+    private static final String OTHER_PLACEHOLDERS = "<other>";
+
+    private final TimerRegistry timers;
+    private final Histogram ticks = new Histogram();
+    private final Histogram lateness = new Histogram();
+    private final Map<String, LongAdder> placeholderHits = new ConcurrentHashMap<>();
+
+    public TimerMetrics(TimerRegistry timers) {
+        this.timers = timers;
+    }
+
+    /**
+     * Record the duration of a run of the shared tick.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordTick(long nanos) {
+        ticks.record(nanos);
+    }
+
+    /**
+     * Record how late a timer update ran compared to when it was due, which grows when the server lags.
+     *
+     * @param nanos The lateness in nanoseconds.
+     */
+    public void recordLateness(long nanos) {
+        lateness.record(Math.max(nanos, 0));
+    }
+
+    /**
+     * Record a placeholder request.
+     * <br>Distinct identifiers are capped, anything past the cap is counted together.
+     *
+     * @param identifier The requested identifier.
+     */
+    public void recordPlaceholder(String identifier) {
+        LongAdder hits = placeholderHits.get(identifier);
+
+        if (hits == null) {
+            String key = placeholderHits.size() < MAX_PLACEHOLDER_KEYS ? identifier : OTHER_PLACEHOLDERS;
+            hits = placeholderHits.computeIfAbsent(key, ignored -> new LongAdder());
+        }
+
+        hits.increment();
+    }
+
+    public Histogram getTicks() {
+        return ticks;
+    }
+
+    public Histogram getLateness() {
+        return lateness;
+    }
+
+    /**
+     * Get the number of requests per placeholder identifier.
+     *
+     * @return The hit counts, sorted by identifier.
+     */
+    public Map<String, Long> getPlaceholderHits() {
+        Map<String, Long> hits = new TreeMap<>();
+        placeholderHits.forEach((identifier, count) -> hits.put(identifier, count.sum()));
+        return hits;
+    }
+
+    @Override
+    public long getTickCount() {
+        return ticks.getCount();
+    }
+
+    @Override
+    public long getTickMeanNanos() {
+        return ticks.getMean();
+    }
+
+    @Override
+    public long getTickP99Nanos() {
+        return ticks.getPercentile(0.99);
+    }
+
+    @Override
+    public long getTickMaxNanos() {
+        return ticks.getMax();
+    }
+
+    @Override
+    public long getUpdateLatenessP99Nanos() {
+        return lateness.getPercentile(0.99);
+    }
+
+    @Override
+    public long getUpdateLatenessMaxNanos() {
+        return lateness.getMax();
+    }
+
+    @Override
+    public long getMaxClockDriftMillis() {
+        long drift = 0;
+
+        for (TimerRunnable timer : timers.getTimers()) {
+            if (Math.abs(timer.getClockDrift()) > Math.abs(drift)) {
+                drift = timer.getClockDrift();
+            }
+        }
+
+        return drift;
+    }
+
+    @Override
+    public int getRunningTimers() {
+        return timers.getTimers().size();
+    }
+
+    @Override
+    public long getHandlerUpdates() {
+        long updates = 0;
+
+        for (TimerRunnable timer : timers.getTimers()) {
+            updates += timer.getHandler().getUpdateCount();
+        }
+
+        return updates;
+    }
+
+    @Override
+    public int getViewers() {
+        int viewers = 0;
+
+        for (TimerRunnable timer : timers.getTimers()) {
+            viewers += timer.getHandler().getViewerCount();
+        }
+
+        return viewers;
+    }
+
+    @Override
+    public long getPlaceholderRequests() {
+        long requests = 0;
+
+        for (LongAdder hits : placeholderHits.values()) {
+            requests += hits.sum();
+        }
+
+        return requests;
+    }
+
+    @Override
+    public double getFormatterCacheHitRate() {
+        DurationFormatter formatter = timers.getFormatter();
+        long hits = formatter.getCacheHits();
+        long total = hits + formatter.getCacheMisses();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public void reset() {
+        ticks.reset();
+        lateness.reset();
+        placeholderHits.clear();
+        timers.getFormatter().resetCacheStats();
+    }
+
+    /**
+     * Register the MBean with the platform MBean server.
+     *
+     * @throws JMException If registration fails.
+     */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+
+        server.registerMBean(this, name);
+    }
+
+    /**
+     * Unregister the MBean, if registered.
+     *
+     * @throws JMException If unregistration fails.
+     */
+    public void unregister() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+}
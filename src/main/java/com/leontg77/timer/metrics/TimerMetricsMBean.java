@@ -0,0 +1,32 @@
+package com.leontg77.timer.metrics;
+
+/**
+ * JMX view of {@link TimerMetrics}, registered as {@value TimerMetrics#OBJECT_NAME}.
+ */
+public interface TimerMetricsMBean {
+    long getTickCount();
+
+    long getTickMeanNanos();
+
+    long getTickP99Nanos();
+
+    long getTickMaxNanos();
+
+    long getUpdateLatenessP99Nanos();
+
+    long getUpdateLatenessMaxNanos();
+
+    long getMaxClockDriftMillis();
+
+    int getRunningTimers();
+
+    long getHandlerUpdates();
+
+    int getViewers();
+
+    long getPlaceholderRequests();
+
+    double getFormatterCacheHitRate();
+
+    void reset();
+}
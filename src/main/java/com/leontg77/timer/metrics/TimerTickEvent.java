@@ -0,0 +1,23 @@
+package com.leontg77.timer.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one run of the shared timer tick.
+ */
+@Name("com.leontg77.timer.Tick")
+@Label("Timer Tick")
+@Category("Timer")
+@Description("One run of the shared tick driving all timers")
+public final class TimerTickEvent extends Event {
+    @Label("Timers Updated")
+    @Description("Number of timers whose displayed second changed in this tick")
+    public int timersUpdated;
+
+    @Label("Timers Running")
+    public int timersRunning;
+}
@@ -0,0 +1,22 @@
+package com.leontg77.timer.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a single timer pushing a new second to its handler.
+ */
+@Name("com.leontg77.timer.Update")
+@Label("Timer Update")
+@Category("Timer")
+@Description("A timer rendering and sending a new remaining time")
+public final class TimerUpdateEvent extends Event {
+    @Label("Timer Id")
+    public String timerId;
+
+    @Label("Remaining Seconds")
+    public long remaining;
+}
@@ -0,0 +1,129 @@
+package com.leontg77.timer.render;
+
+import com.leontg77.timer.format.DurationFormatter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Localized duration formats and timer messages.
+ * <br>Client locales are resolved to the closest configured locale, first the exact locale, then its language, then
+ * the default ({@link Locale#ROOT}), so text only has to be rendered once per configured locale however many client
+ * locales map to it.
+ * <br>Timer messages are localized by replacing translatable components with a key from the {@code messages}
+ * config, so a message such as {@code {"translate":"event"}} shows each viewer the message for their locale. Other
+ * keys are left for the client to translate.
+ */
+public final class Localization {
+    public static final Localization NONE = new Localization(Map.of(), Map.of());
+
+    private final Map<String, Component> messages;
+    private final Map<Locale, Entry> locales;
+
+    /**
+     * Create a localization.
+     *
+     * @param messages The default messages by key.
+     * @param locales The formats and messages of each configured locale.
+     */
+    public Localization(@NotNull Map<String, Component> messages, @NotNull Map<Locale, Entry> locales) {
+        this.messages = Map.copyOf(messages);
+        this.locales = Map.copyOf(locales);
+    }
+
+    /**
+     * Resolve a client locale to the configured locale its text is rendered for.
+     *
+     * @param locale The client locale.
+     * @return The configured locale, or {@link Locale#ROOT} for the default.
+     */
+    public Locale resolve(@NotNull Locale locale) {
+        if (locales.isEmpty()) {
+            return Locale.ROOT;
+        }
+
+        if (locales.containsKey(locale)) {
+            return locale;
+        }
+
+        Locale language = Locale.of(locale.getLanguage());
+        return locales.containsKey(language) ? language : Locale.ROOT;
+    }
+
+    /**
+     * Get the duration format of a resolved locale.
+     *
+     * @param locale The resolved locale.
+     * @param fallback The format to use if the locale doesn't have one.
+     * @return The duration format.
+     */
+    public DurationFormatter getFormatter(@NotNull Locale locale, @NotNull DurationFormatter fallback) {
+        Entry entry = locales.get(locale);
+        return entry != null && entry.formatter() != null ? entry.formatter() : fallback;
+    }
+
+    /**
+     * Localize the translatable components of a message with a configured key.
+     *
+     * @param message The message.
+     * @param locale The resolved locale.
+     * @return The localized message, or the same message if it has nothing to localize.
+     */
+    public Component localize(@NotNull Component message, @NotNull Locale locale) {
+        if (messages.isEmpty() && locales.isEmpty()) {
+            return message;
+        }
+
+        Component replacement = null;
+
+        if (message instanceof TranslatableComponent translatable) {
+            replacement = getMessage(translatable.key(), locale);
+        }
+
+        List<Component> children = message.children();
+        List<Component> localized = null;
+
+        for (int i = 0; i < children.size(); i++) {
+            Component child = localize(children.get(i), locale);
+
+            if (child != children.get(i) && localized == null) {
+                localized = new ArrayList<>(children.subList(0, i));
+            }
+
+            if (localized != null) {
+                localized.add(child);
+            }
+        }
+
+        if (replacement != null) {
+            return replacement.applyFallbackStyle(message.style())
+                    .append(localized != null ? localized : children);
+        }
+
+        return localized != null ? message.children(localized) : message;
+    }
+
+    private @Nullable Component getMessage(String key, Locale locale) {
+        Entry entry = locales.get(locale);
+        Component message = entry != null ? entry.messages().get(key) : null;
+        return message != null ? message : messages.get(key);
+    }
+
+    /**
+     * The format and messages of a configured locale.
+     *
+     * @param formatter The duration format, or null to use the default.
+     * @param messages The messages by key, falling back to the default messages.
+     */
+    public record Entry(@Nullable DurationFormatter formatter, @NotNull Map<String, Component> messages) {
+        public Entry {
+            messages = Map.copyOf(messages);
+        }
+    }
+}
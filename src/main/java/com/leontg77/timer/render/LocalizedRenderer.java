@@ -0,0 +1,64 @@
+package com.leontg77.timer.render;
+
+import com.leontg77.timer.format.DurationFormatter;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the text of one timer for every locale it's viewed in.
+ * <br>A {@link TimerTextRenderer} is created per resolved locale the first time it's needed, with the message localized
+ * once up front, so each update is rendered once per resolved locale and repeat renders of the same value are cache
+ * hits.
+ */
+public final class LocalizedRenderer {
+    private final Component message;
+    private final DurationFormatter formatter;
+    private final TimerTemplate template;
+    private final Localization localization;
+    private final Map<Locale, TimerTextRenderer> renderers = new ConcurrentHashMap<>();
+
+    public LocalizedRenderer(@NotNull Component message, @NotNull DurationFormatter formatter,
+                             @Nullable TimerTemplate template, @NotNull Localization localization) {
+        this.message = message;
+        this.formatter = formatter;
+        this.template = template;
+        this.localization = localization;
+    }
+
+    /**
+     * Get the text for a remaining time, to be rendered per locale.
+     *
+     * @param remaining The remaining seconds.
+     * @param total The total seconds of the countdown.
+     * @return The text.
+     */
+    public LocalizedText render(long remaining, long total) {
+        return new LocalizedText(this, remaining, total);
+    }
+
+    /**
+     * Render the text for a locale.
+     *
+     * @param locale The client locale.
+     * @param remaining The remaining seconds.
+     * @param total The total seconds of the countdown.
+     * @return The rendered text.
+     */
+    public Component render(@NotNull Locale locale, long remaining, long total) {
+        return renderers.computeIfAbsent(localization.resolve(locale), this::createRenderer).render(remaining, total);
+    }
+
+    Locale resolve(Locale locale) {
+        return localization.resolve(locale);
+    }
+
+    private TimerTextRenderer createRenderer(Locale locale) {
+        return new TimerTextRenderer(localization.localize(message, locale),
+                                     localization.getFormatter(locale, formatter), template);
+    }
+}
@@ -0,0 +1,74 @@
+package com.leontg77.timer.render;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Timer text which is rendered separately for each client locale.
+ * <br>Handlers group their viewers by {@link #resolve resolved locale} and render once per group.
+ */
+public final class LocalizedText {
+    private final LocalizedRenderer renderer;
+    private final Component fixed;
+    private final long remaining;
+    private final long total;
+
+    LocalizedText(LocalizedRenderer renderer, long remaining, long total) {
+        this.renderer = renderer;
+        this.fixed = null;
+        this.remaining = remaining;
+        this.total = total;
+    }
+
+    private LocalizedText(Component fixed) {
+        this.renderer = null;
+        this.fixed = fixed;
+        this.remaining = 0;
+        this.total = 0;
+    }
+
+    /**
+     * Create text which is the same in every locale.
+     *
+     * @param text The text.
+     * @return The localized text.
+     */
+    public static LocalizedText of(@NotNull Component text) {
+        return new LocalizedText(text);
+    }
+
+    /**
+     * Render the text for a locale.
+     *
+     * @param locale The client locale.
+     * @return The rendered text.
+     */
+    public Component render(@NotNull Locale locale) {
+        return renderer != null ? renderer.render(locale, remaining, total) : fixed;
+    }
+
+    /**
+     * Resolve a client locale to the locale the text is rendered for, so viewers with the same resolved locale can
+     * share one render.
+     *
+     * @param locale The client locale.
+     * @return The resolved locale.
+     */
+    public Locale resolve(@NotNull Locale locale) {
+        return renderer != null ? renderer.resolve(locale) : Locale.ROOT;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LocalizedText other && renderer == other.renderer && Objects.equals(fixed, other.fixed)
+               && remaining == other.remaining && total == other.total;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(renderer), fixed, remaining, total);
+    }
+}
@@ -0,0 +1,187 @@
+package com.leontg77.timer.render;
+
+import com.leontg77.timer.format.DurationFormatter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.KeybindComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A MiniMessage layout for the text of a countdown, such as
+ * {@code <gold>Event</gold> ends in <remaining_clock> <progress_pct>%}.
+ * <br>The template is parsed once into a tree of static and dynamic parts. Static subtrees are kept as parsed and
+ * reused by every render, only the slots and the components on the path down to them are rebuilt.
+ * <br>{@link #bind(Component)} fills in the {@code <message>} slot once per timer, so only the time slots are left.
+ */
+public final class TimerTemplate {
+    private static final String MARKER = "timer:slot:";
+    private static final TagResolver SLOTS = createSlots();
+
+    private final Part root;
+
+    private TimerTemplate(Part root) {
+        this.root = root;
+    }
+
+    /**
+     * Parse a template.
+     *
+     * @param template The MiniMessage template.
+     * @return The parsed template.
+     */
+    public static TimerTemplate parse(@NotNull String template) {
+        return new TimerTemplate(compile(MiniMessage.miniMessage().deserialize(template, SLOTS)));
+    }
+
+    /**
+     * Fill in the message slot.
+     *
+     * @param message The message of the timer.
+     * @return The template with the message slot made static.
+     */
+    public TimerTemplate bind(@NotNull Component message) {
+        return new TimerTemplate(root.bind(message));
+    }
+
+    /**
+     * Render the template, re-rendering only the dynamic slots.
+     *
+     * @param remaining The remaining seconds.
+     * @param total The total seconds of the countdown, or 0 if unknown.
+     * @param formatter The formatter for the time slots.
+     * @return The rendered text.
+     */
+    public Component render(long remaining, long total, @NotNull DurationFormatter formatter) {
+        return root.render(remaining, total, formatter);
+    }
+
+    private static TagResolver createSlots() {
+        TagResolver.Builder builder = TagResolver.builder();
+
+        for (Slot slot : Slot.values()) {
+            builder.tag(slot.tag, Tag.selfClosingInserting(Component.keybind(MARKER + slot.name())));
+        }
+
+        return builder.build();
+    }
+
+    private static Part compile(Component component) {
+        if (component instanceof KeybindComponent keybind && keybind.keybind().startsWith(MARKER)) {
+            return new Dynamic(Slot.valueOf(keybind.keybind().substring(MARKER.length())), keybind.style());
+        }
+
+        List<Part> children = new ArrayList<>(component.children().size());
+        boolean dynamic = false;
+
+        for (Component child : component.children()) {
+            Part part = compile(child);
+            dynamic |= !(part instanceof Static);
+            children.add(part);
+        }
+
+        return dynamic ? new Parent(component.children(List.of()), List.copyOf(children)) : new Static(component);
+    }
+
+    /**
+     * The slots a template can use.
+     */
+    public enum Slot {
+        MESSAGE("message"),
+        REMAINING("remaining"),
+        REMAINING_CLOCK("remaining_clock"),
+        PROGRESS_PCT("progress_pct");
+
+        private final String tag;
+
+        Slot(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private sealed interface Part {
+        Component render(long remaining, long total, DurationFormatter formatter);
+
+        Part bind(Component message);
+    }
+
+    private record Static(Component component) implements Part {
+        @Override
+        public Component render(long remaining, long total, DurationFormatter formatter) {
+            return component;
+        }
+
+        @Override
+        public Part bind(Component message) {
+            return this;
+        }
+    }
+
+    private record Dynamic(Slot slot, Style style) implements Part {
+        @Override
+        public Component render(long remaining, long total, DurationFormatter formatter) {
+            String text = switch (slot) {
+                case MESSAGE -> "";
+                case REMAINING -> formatter.friendly(remaining);
+                case REMAINING_CLOCK -> formatter.clock(remaining);
+                case PROGRESS_PCT -> String.valueOf(percent(remaining, total));
+            };
+
+            return Component.text(text, style);
+        }
+
+        private static long percent(long remaining, long total) {
+            // Done in floating point, so huge durations can't overflow out of 0..100.
+            return total > 0 ? (long) (Math.clamp(remaining, 0, total) * 100.0 / total) : 100;
+        }
+
+        @Override
+        public Part bind(Component message) {
+            if (slot != Slot.MESSAGE) {
+                return this;
+            }
+
+            return new Static(style.isEmpty() ? message : message.applyFallbackStyle(style));
+        }
+    }
+
+    private record Parent(Component shell, List<Part> children) implements Part {
+        @Override
+        public Component render(long remaining, long total, DurationFormatter formatter) {
+            List<Component> rendered = new ArrayList<>(children.size());
+
+            for (Part child : children) {
+                rendered.add(child.render(remaining, total, formatter));
+            }
+
+            return shell.children(rendered);
+        }
+
+        @Override
+        public Part bind(Component message) {
+            List<Part> bound = new ArrayList<>(children.size());
+            boolean dynamic = false;
+
+            for (Part child : children) {
+                Part part = child.bind(message);
+                dynamic |= !(part instanceof Static);
+                bound.add(part);
+            }
+
+            if (dynamic) {
+                return new Parent(shell, List.copyOf(bound));
+            }
+
+            return new Static(shell.children(bound.stream().map(part -> ((Static) part).component()).toList()));
+        }
+    }
+}
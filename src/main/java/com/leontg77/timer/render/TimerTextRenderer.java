@@ -0,0 +1,83 @@
+package com.leontg77.timer.render;
+
+import com.leontg77.timer.format.DurationFormatter;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Renders the text of a timer, {@code <message> <friendly time>} or a {@link TimerTemplate}, for a remaining number of
+ * seconds.
+ * <br>The static message is compacted once up front and shared by every render, only the time is built per value.
+ * Rendered components are memoized per remaining value in a small direct-mapped cache, so re-rendering a value returns
+ * the identical component, which handlers and Adventure can then recognise as unchanged.
+ */
+public final class TimerTextRenderer {
+    private static final int CACHE_SIZE = 64;
+
+    private final Component message;
+    private final DurationFormatter formatter;
+    private final TimerTemplate template;
+    private final CacheEntry[] cache = new CacheEntry[CACHE_SIZE];
+
+    public TimerTextRenderer(@NotNull Component message, @NotNull DurationFormatter formatter) {
+        this(message, formatter, null);
+    }
+
+    /**
+     * Create a renderer for a template.
+     *
+     * @param message The message of the timer.
+     * @param formatter The formatter for the time.
+     * @param template The template, with the message filled into its message slot, or null for the default layout.
+     */
+    public TimerTextRenderer(@NotNull Component message, @NotNull DurationFormatter formatter,
+                             @Nullable TimerTemplate template) {
+        this.message = message.compact();
+        this.formatter = formatter;
+        this.template = template != null ? template.bind(this.message) : null;
+    }
+
+    /**
+     * Render the timer text for the given remaining time.
+     *
+     * @param remaining The remaining seconds.
+     * @return The rendered text.
+     */
+    public Component render(long remaining) {
+        return render(remaining, 0);
+    }
+
+    /**
+     * Render the timer text for the given remaining time.
+     *
+     * @param remaining The remaining seconds.
+     * @param total The total seconds of the countdown, used for the progress slot of templates.
+     * @return The rendered text.
+     */
+    public Component render(long remaining, long total) {
+        int slot = (int) (remaining & (CACHE_SIZE - 1));
+        CacheEntry entry = cache[slot];
+
+        if (entry != null && entry.remaining == remaining && entry.total == total) {
+            return entry.component;
+        }
+
+        Component component = template != null ? template.render(remaining, total, formatter)
+                                               : message.append(Component.text(" " + formatter.friendly(remaining)));
+        cache[slot] = new CacheEntry(remaining, total, component);
+        return component;
+    }
+
+    /**
+     * Get the pre-built static message.
+     *
+     * @return The compacted message.
+     */
+    public Component getMessage() {
+        return message;
+    }
+
+    private record CacheEntry(long remaining, long total, Component component) {
+    }
+}
@@ -0,0 +1,326 @@
+package com.leontg77.timer.runnable;
+
+import com.leontg77.timer.format.DurationFormatter;
+import com.leontg77.timer.handling.handlers.BossBarHandler;
+import com.leontg77.timer.metrics.Histogram;
+import com.leontg77.timer.render.Localization;
+import com.leontg77.timer.render.TimerTemplate;
+import com.leontg77.timer.render.TimerTextRenderer;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-player countdowns and stopwatches, each shown on the player's own boss bar.
+ * <br>Timers are kept as a structure of arrays indexed by slot rather than one object and task per timer, and are all
+ * driven by a single repeating task which only exists while at least one timer is running. A tick is one pass over the
+ * primitive deadline arrays, and a bar is only touched when its displayed second changes.
+ * <br>Removing a timer moves the last slot into its place, so the slots stay dense.
+ * <br>Each timer is rendered for its player's locale, as it was when the timer started.
+ * <br>The task may run off the main thread on region threaded servers, so access is synchronized, and showing and
+ * hiding bars is dispatched to each player's own scheduler. A player's timer is stopped when they quit.
+ */
+public final class PersonalTimers implements Runnable, Listener {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long STOPWATCH = -1;
+
+    private final TaskScheduler scheduler;
+    private final Map<Player, Integer> slots = new HashMap<>();
+    private final Histogram ticks = new Histogram();
+    private DurationFormatter formatter = DurationFormatter.DEFAULT;
+    private TimerTemplate template = null;
+    private Localization localization = Localization.NONE;
+    private TaskScheduler.TaskHandle task = null;
+
+    private int size = 0;
+    private Player[] players = new Player[INITIAL_CAPACITY];
+    private BossBar[] bars = new BossBar[INITIAL_CAPACITY];
+    private TimerTextRenderer[] renderers = new TimerTextRenderer[INITIAL_CAPACITY];
+    /**
+     * The {@link System#nanoTime()} deadline of each countdown, or start of each stopwatch.
+     */
+    private long[] origins = new long[INITIAL_CAPACITY];
+    /**
+     * The total seconds of each countdown, or {@link #STOPWATCH}.
+     */
+    private long[] totals = new long[INITIAL_CAPACITY];
+    private long[] shown = new long[INITIAL_CAPACITY];
+    private int[] pixels = new int[INITIAL_CAPACITY];
+
+    public PersonalTimers(TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Start a timer for a player, replacing any timer they already have.
+     * <br>A replaced timer keeps its boss bar, so the player doesn't see it flicker.
+     *
+     * @param player The player.
+     * @param message The message to display.
+     * @param duration The length of the countdown, or null for a stopwatch counting up.
+     * @param color The color of the bar.
+     * @param overlay The overlay of the bar.
+     * @throws IllegalArgumentException If the duration isn't positive.
+     */
+    public synchronized void start(@NotNull Player player, @NotNull Component message, @Nullable Duration duration,
+                                   @NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+
+        long now = System.nanoTime();
+        long value = duration != null ? toRemainingSeconds(duration.toNanos()) : 0;
+        Locale locale = localization.resolve(player.locale());
+        TimerTextRenderer renderer = new TimerTextRenderer(localization.localize(message, locale),
+                                                           localization.getFormatter(locale, formatter),
+                                                           duration != null ? template : null);
+        Component text = renderer.render(value, value);
+        Integer existing = slots.get(player);
+        int slot;
+
+        if (existing != null) {
+            slot = existing;
+            bars[slot].name(text).progress(BossBar.MAX_PROGRESS).color(color).overlay(overlay);
+        } else {
+            ensureCapacity();
+            slot = size++;
+
+            BossBar bar = BossBar.bossBar(text, BossBar.MAX_PROGRESS, color, overlay);
+            players[slot] = player;
+            bars[slot] = bar;
+            slots.put(player, slot);
+            scheduler.runForEntity(player, () -> player.showBossBar(bar));
+        }
+
+        renderers[slot] = renderer;
+        origins[slot] = duration != null ? now + duration.toNanos() : now;
+        totals[slot] = duration != null ? value : STOPWATCH;
+        shown[slot] = value;
+        pixels[slot] = BossBarHandler.PROGRESS_PIXELS;
+
+        ensureTask();
+    }
+
+    /**
+     * Get the time on a player's timer.
+     *
+     * @param player The player.
+     * @return The time left of a countdown or elapsed on a stopwatch, or null if the player has no timer.
+     */
+    public synchronized @Nullable Duration get(@NotNull Player player) {
+        Integer slot = slots.get(player);
+        return slot != null ? getTime(slot, System.nanoTime()) : null;
+    }
+
+    /**
+     * Stop a player's timer and hide its bar.
+     *
+     * @param player The player.
+     * @return The time left of a countdown or elapsed on a stopwatch, or null if the player had no timer.
+     */
+    public synchronized @Nullable Duration stop(@NotNull Player player) {
+        Integer slot = slots.get(player);
+
+        if (slot == null) {
+            return null;
+        }
+
+        Duration time = getTime(slot, System.nanoTime());
+        hide(slot, 0);
+        remove(slot);
+        stopTaskIfIdle();
+        return time;
+    }
+
+    /**
+     * Change the color and style of every personal bar.
+     *
+     * @param color The new color.
+     * @param overlay The new overlay.
+     */
+    public synchronized void setStyle(@NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+        for (int i = 0; i < size; i++) {
+            bars[i].color(color).overlay(overlay);
+        }
+    }
+
+    /**
+     * Set the formatter used for the time of new timers.
+     *
+     * @param formatter The duration formatter.
+     */
+    public synchronized void setFormatter(@NotNull DurationFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * Set the template used for the text of new countdowns, stopwatches always use the default layout.
+     *
+     * @param template The template, or null for {@code <message> <friendly time>}.
+     */
+    public synchronized void setTemplate(@Nullable TimerTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * Set the localized formats and messages used for new timers.
+     *
+     * @param localization The localization.
+     */
+    public synchronized void setLocalization(@NotNull Localization localization) {
+        this.localization = localization;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get how long each tick over all personal timers takes.
+     *
+     * @return The tick durations, in nanoseconds.
+     */
+    public Histogram getTicks() {
+        return ticks;
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        tick(now);
+        ticks.record(System.nanoTime() - now);
+    }
+
+    /**
+     * Update every timer for the given time.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     */
+    synchronized void tick(long now) {
+        for (int i = 0; i < size; i++) {
+            long total = totals[i];
+            long value = total == STOPWATCH ? (now - origins[i]) / NANOS_PER_SECOND
+                                            : toRemainingSeconds(origins[i] - now);
+
+            if (value == shown[i]) {
+                continue;
+            }
+
+            shown[i] = value;
+            bars[i].name(renderers[i].render(value, Math.max(total, 0)));
+
+            if (total == STOPWATCH) {
+                continue;
+            }
+
+            int pixel = (int) (value * BossBarHandler.PROGRESS_PIXELS / total);
+
+            if (pixel != pixels[i]) {
+                pixels[i] = pixel;
+                bars[i].progress((float) value / total);
+            }
+
+            if (value == 0) {
+                hide(i, 20L);
+                remove(i);
+                // The last timer was moved into this slot, so it still has to be updated.
+                i--;
+            }
+        }
+
+        stopTaskIfIdle();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public synchronized void onQuit(PlayerQuitEvent event) {
+        Integer slot = slots.get(event.getPlayer());
+
+        if (slot != null) {
+            remove(slot);
+            stopTaskIfIdle();
+        }
+    }
+
+    private Duration getTime(int slot, long now) {
+        return Duration.ofNanos(totals[slot] == STOPWATCH ? now - origins[slot] : Math.max(origins[slot] - now, 0));
+    }
+
+    private static long toRemainingSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private void hide(int slot, long delay) {
+        Player player = players[slot];
+        BossBar bar = bars[slot];
+
+        if (delay > 0) {
+            scheduler.runForEntityLater(player, () -> player.hideBossBar(bar), delay);
+        } else {
+            scheduler.runForEntity(player, () -> player.hideBossBar(bar));
+        }
+    }
+
+    private void remove(int slot) {
+        int last = --size;
+        slots.remove(players[slot]);
+
+        if (slot != last) {
+            players[slot] = players[last];
+            bars[slot] = bars[last];
+            renderers[slot] = renderers[last];
+            origins[slot] = origins[last];
+            totals[slot] = totals[last];
+            shown[slot] = shown[last];
+            pixels[slot] = pixels[last];
+            slots.put(players[slot], slot);
+        }
+
+        players[last] = null;
+        bars[last] = null;
+        renderers[last] = null;
+    }
+
+    private void ensureCapacity() {
+        if (size < players.length) {
+            return;
+        }
+
+        int capacity = players.length * 2;
+        players = Arrays.copyOf(players, capacity);
+        bars = Arrays.copyOf(bars, capacity);
+        renderers = Arrays.copyOf(renderers, capacity);
+        origins = Arrays.copyOf(origins, capacity);
+        totals = Arrays.copyOf(totals, capacity);
+        shown = Arrays.copyOf(shown, capacity);
+        pixels = Arrays.copyOf(pixels, capacity);
+    }
+
+    private void ensureTask() {
+        if (task == null) {
+            task = scheduler.runTimer(this, 1L, 1L);
+        }
+    }
+
+    private void stopTaskIfIdle() {
+        if (task == null || size > 0) {
+            return;
+        }
+
+        task.cancel();
+        task = null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.leontg77.timer.runnable;
+
+/**
+ * Settings for smooth progress, where countdown progress is updated several times a second instead of only when the
+ * displayed second changes.
+ * <br>The rate is shared out under a server wide budget of progress updates per second, so it drops automatically as
+ * the number of viewers grows.
+ *
+ * @param rate The wanted number of progress updates per second, or 0 to disable smooth progress.
+ * @param packetBudget The maximum number of progress updates sent to all viewers per second.
+ */
+public record SmoothProgress(int rate, int packetBudget) {
+    public static final SmoothProgress DISABLED = new SmoothProgress(0, 0);
+
+    public static final int MIN_RATE = 2;
+    public static final int MAX_RATE = 20;
+
+    public SmoothProgress {
+        if (rate != 0 && (rate < MIN_RATE || rate > MAX_RATE)) {
+            throw new IllegalArgumentException("Smooth progress rate must be 0 or between " + MIN_RATE + " and "
+                                                       + MAX_RATE + ", got " + rate);
+        }
+
+        if (packetBudget < 0) {
+            throw new IllegalArgumentException("Packet budget cannot be negative, got " + packetBudget);
+        }
+    }
+
+    public boolean isEnabled() {
+        return rate > 0;
+    }
+
+    /**
+     * Get the time between progress updates for the given number of viewers.
+     *
+     * @param viewers The total number of players viewing smooth timers.
+     * @return The interval in milliseconds, or 0 if smooth progress is disabled or the budget doesn't allow more
+     *         than one update a second.
+     */
+    public long getFrameMillis(long viewers) {
+        if (!isEnabled()) {
+            return 0;
+        }
+
+        long budgeted = Math.min(rate, packetBudget / Math.max(viewers, 1));
+        return budgeted > 1 ? 1000L / budgeted : 0;
+    }
+}
@@ -0,0 +1,407 @@
+package com.leontg77.timer.runnable;
+
+import com.leontg77.timer.action.ThresholdActions;
+import com.leontg77.timer.event.TimerStartEvent;
+import com.leontg77.timer.format.DurationFormatter;
+import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.metrics.TimerMetrics;
+import com.leontg77.timer.metrics.TimerTickEvent;
+import com.leontg77.timer.render.Localization;
+import com.leontg77.timer.render.LocalizedRenderer;
+import com.leontg77.timer.render.TimerTemplate;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of named timers.
+ * <br>Every registered timer is driven from a single shared repeating task, which only exists while at least one
+ * countdown is registered.
+ * <br>Countdowns are kept in a queue ordered by the time their displayed value next changes, so each tick only looks
+ * at the head of the queue and a timer is only updated when it has something new to show. How late each update runs
+ * compared to when it was due is recorded in the {@link TimerMetrics}, which shows up tick lag.
+ * <br>The shared task may run off the main thread on region threaded servers, so access to the registry is
+ * synchronized. Off-thread readers should prefer {@link #getSnapshot(String)}, which never blocks.
+ */
+public final class TimerRegistry implements Runnable {
+    public static final String DEFAULT_ID = "default";
+
+    private final TaskScheduler scheduler;
+    private final TimerMetrics metrics = new TimerMetrics(this);
+    private final Map<String, TimerRunnable> timers = new LinkedHashMap<>();
+    private volatile Map<String, TimerRunnable> published = Map.of();
+    private final PriorityQueue<TimerRunnable> queue =
+            new PriorityQueue<>(Comparator.comparingLong(TimerRunnable::getNextUpdate));
+    private DurationFormatter formatter = DurationFormatter.DEFAULT;
+    private TimerTemplate template = null;
+    private Localization localization = Localization.NONE;
+    private SmoothProgress smoothProgress = SmoothProgress.DISABLED;
+    private TaskScheduler.TaskHandle task = null;
+
+    public TimerRegistry(TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Create and start a new timer.
+     *
+     * @param id The id of the timer.
+     * @param message The message to display.
+     * @param endTime The time the timer ends, or null for an infinite timer.
+     * @param handler The handler to display the timer with.
+     * @return The created timer.
+     * @throws IllegalStateException If a timer with the given id is already running.
+     */
+    public TimerRunnable create(@NotNull String id, Component message, @Nullable Instant endTime,
+                                TimerHandler handler) {
+        return create(id, message, endTime, handler, null);
+    }
+
+    /**
+     * Create and start a new timer with threshold actions.
+     *
+     * @param id The id of the timer.
+     * @param message The message to display.
+     * @param endTime The time the timer ends, or null for an infinite timer.
+     * @param handler The handler to display the timer with.
+     * @param actions The actions to run as the timer counts down, or null for none.
+     * @return The created timer.
+     * @throws IllegalStateException If a timer with the given id is already running.
+     */
+    public synchronized TimerRunnable create(@NotNull String id, Component message, @Nullable Instant endTime,
+                                             TimerHandler handler, @Nullable ThresholdActions actions) {
+        if(timers.containsKey(id)) {
+            throw new IllegalStateException("Timer " + id + " is already running");
+        }
+
+        TimerRunnable timer = new TimerRunnable(id, message, endTime, handler, formatter,
+                                                new LocalizedRenderer(message, formatter, template, localization),
+                                                actions);
+        timers.put(id, timer);
+        publish();
+
+        if(TimerStartEvent.hasListeners()) {
+            Bukkit.getPluginManager().callEvent(new TimerStartEvent(id, message, endTime));
+        }
+
+        if(timer.isCountdown()) {
+            queue.add(timer);
+            ensureTask();
+        }
+
+        return timer;
+    }
+
+    /**
+     * Get a running timer by id.
+     *
+     * @param id The id of the timer.
+     * @return The timer, or null if no timer with that id is running.
+     */
+    public synchronized @Nullable TimerRunnable get(@NotNull String id) {
+        return timers.get(id);
+    }
+
+    /**
+     * Get the latest snapshot of a running timer by id.
+     * <br>Safe to call from any thread.
+     *
+     * @param id The id of the timer.
+     * @return The snapshot, or null if no timer with that id is running.
+     */
+    public @Nullable TimerSnapshot getSnapshot(@NotNull String id) {
+        TimerRunnable timer = published.get(id);
+        return timer != null ? timer.getSnapshot() : null;
+    }
+
+    /**
+     * Cancel a running timer by id.
+     *
+     * @param id The id of the timer.
+     * @return True if a timer was cancelled, false if no timer with that id was running.
+     */
+    public synchronized boolean cancel(@NotNull String id) {
+        TimerRunnable timer = timers.remove(id);
+
+        if(timer == null) {
+            return false;
+        }
+
+        queue.remove(timer);
+        timer.cancel();
+        publish();
+        stopTaskIfIdle();
+        return true;
+    }
+
+    /**
+     * Pause a running countdown, leaving it frozen on display.
+     *
+     * @param id The id of the timer.
+     * @return True if the timer was paused, false if no countdown with that id is running or it's already paused.
+     */
+    public synchronized boolean pause(@NotNull String id) {
+        return change(id, TimerRunnable::pause);
+    }
+
+    /**
+     * Resume a paused countdown from where it was paused.
+     *
+     * @param id The id of the timer.
+     * @return True if the timer was resumed, false if no timer with that id is paused.
+     */
+    public synchronized boolean resume(@NotNull String id) {
+        return change(id, TimerRunnable::resume);
+    }
+
+    /**
+     * Add time to a running countdown, or take it away if negative.
+     * <br>The countdown keeps its handler and bars, and only what changed on screen is sent.
+     *
+     * @param id The id of the timer.
+     * @param time The time to add.
+     * @return True if the time was changed, false if no countdown with that id is running.
+     */
+    public synchronized boolean addTime(@NotNull String id, @NotNull Duration time) {
+        long nanos = toNanos(time);
+        return change(id, (timer, now) -> {
+            long remaining = timer.getRemainingNanos(now);
+            return timer.setRemaining(now, nanos > Long.MAX_VALUE - remaining ? Long.MAX_VALUE : remaining + nanos);
+        });
+    }
+
+    /**
+     * Set the time left on a running countdown.
+     * <br>The countdown keeps its handler and bars, and only what changed on screen is sent.
+     *
+     * @param id The id of the timer.
+     * @param remaining The new time left.
+     * @return True if the time was changed, false if no countdown with that id is running.
+     */
+    public synchronized boolean setRemaining(@NotNull String id, @NotNull Duration remaining) {
+        long nanos = toNanos(remaining);
+        return change(id, (timer, now) -> timer.setRemaining(now, nanos));
+    }
+
+    /**
+     * Apply a change which moves the next update of a timer.
+     * <br>The queue is ordered by the next update, so the timer is taken out while it changes and put back after,
+     * unless it's now paused.
+     *
+     * @param id The id of the timer.
+     * @param change The change.
+     * @return The result of the change, or false if the timer isn't running.
+     */
+    private boolean change(String id, Change change) {
+        TimerRunnable timer = timers.get(id);
+
+        if(timer == null || !timer.isRunning() || !timer.isCountdown()) {
+            return false;
+        }
+
+        queue.remove(timer);
+        boolean changed = change.apply(timer, System.nanoTime());
+
+        if(timer.isRunning() && !timer.isPaused()) {
+            queue.add(timer);
+            ensureTask();
+        }
+
+        stopTaskIfIdle();
+        return changed;
+    }
+
+    private static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch(ArithmeticException ex) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Cancel every running timer.
+     */
+    public synchronized void cancelAll() {
+        timers.values().forEach(TimerRunnable::cancel);
+        timers.clear();
+        queue.clear();
+        publish();
+        stopTaskIfIdle();
+    }
+
+    /**
+     * Get all running timers, in creation order.
+     *
+     * @return An unmodifiable copy of the running timers.
+     */
+    public synchronized Collection<TimerRunnable> getTimers() {
+        return List.copyOf(timers.values());
+    }
+
+    /**
+     * Get the formatter used for the remaining time of new timers.
+     *
+     * @return The duration formatter.
+     */
+    public synchronized DurationFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * Set the formatter used for the remaining time of new timers.
+     *
+     * @param formatter The duration formatter.
+     */
+    public synchronized void setFormatter(@NotNull DurationFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    public synchronized @Nullable TimerTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Set the template used for the text of new countdowns.
+     *
+     * @param template The template, or null for {@code <message> <friendly time>}.
+     */
+    public synchronized void setTemplate(@Nullable TimerTemplate template) {
+        this.template = template;
+    }
+
+    public synchronized Localization getLocalization() {
+        return localization;
+    }
+
+    /**
+     * Set the localized formats and messages used for new timers.
+     *
+     * @param localization The localization.
+     */
+    public synchronized void setLocalization(@NotNull Localization localization) {
+        this.localization = localization;
+    }
+
+    public synchronized SmoothProgress getSmoothProgress() {
+        return smoothProgress;
+    }
+
+    /**
+     * Set the smooth progress settings used for all countdowns.
+     *
+     * @param smoothProgress The smooth progress settings.
+     */
+    public synchronized void setSmoothProgress(@NotNull SmoothProgress smoothProgress) {
+        this.smoothProgress = smoothProgress;
+    }
+
+    public TimerMetrics getMetrics() {
+        return metrics;
+    }
+
+    public synchronized boolean isEmpty() {
+        return timers.isEmpty();
+    }
+
+    @Override
+    public synchronized void run() {
+        long now = System.nanoTime();
+        TimerTickEvent event = new TimerTickEvent();
+        event.begin();
+
+        boolean removed = false;
+        int updated = 0;
+        long frameNanos = -1;
+        TimerRunnable timer;
+
+        while((timer = queue.peek()) != null && timer.getNextUpdate() <= now) {
+            if(frameNanos < 0) {
+                frameNanos = TimeUnit.MILLISECONDS.toNanos(smoothProgress.getFrameMillis(countViewers()));
+            }
+
+            queue.poll();
+            metrics.recordLateness(now - timer.getNextUpdate());
+            timer.tick(now, frameNanos);
+            updated++;
+
+            if(timer.isRunning()) {
+                queue.add(timer);
+            } else {
+                removed |= timers.remove(timer.getId(), timer);
+            }
+        }
+
+        if(removed) {
+            publish();
+        }
+
+        stopTaskIfIdle();
+
+        event.timersUpdated = updated;
+        event.timersRunning = timers.size();
+        event.commit();
+        metrics.recordTick(System.nanoTime() - now);
+    }
+
+    /**
+     * Count the players viewing countdowns, which the smooth progress budget is shared between.
+     *
+     * @return The total number of viewers, counting players once per timer they see.
+     */
+    private long countViewers() {
+        if(!smoothProgress.isEnabled()) {
+            return 0;
+        }
+
+        long viewers = 0;
+
+        for(TimerRunnable timer : queue) {
+            viewers += timer.getHandler().getViewerCount();
+        }
+
+        return viewers;
+    }
+
+    /**
+     * Publish the current set of timers for off-thread snapshot readers.
+     */
+    private void publish() {
+        published = Map.copyOf(timers);
+    }
+
+    private void ensureTask() {
+        if(task == null) {
+            task = scheduler.runTimer(this, 0, 1L);
+        }
+    }
+
+    private void stopTaskIfIdle() {
+        if(task == null || !queue.isEmpty()) {
+            return;
+        }
+
+        task.cancel();
+        task = null;
+    }
+
+    /**
+     * A change to a timer which may move its next update.
+     */
+    @FunctionalInterface
+    private interface Change {
+        boolean apply(TimerRunnable timer, long now);
+    }
+}
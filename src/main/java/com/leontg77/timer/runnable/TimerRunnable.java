@@ -28,188 +28,440 @@
 package com.leontg77.timer.runnable;
 
 import com.leontg77.timer.Main;
+import com.leontg77.timer.action.ThresholdActions;
+import com.leontg77.timer.event.TimerEndEvent;
+import com.leontg77.timer.event.TimerSecondEvent;
+import com.leontg77.timer.format.DurationFormatter;
 import com.leontg77.timer.handling.TimerHandler;
+import com.leontg77.timer.metrics.TimerUpdateEvent;
+import com.leontg77.timer.render.Localization;
+import com.leontg77.timer.render.LocalizedRenderer;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Timer runnable class.
+ * <br>Timers are ticked by their {@link TimerRegistry} rather than scheduling a task of their own.
+ * <br>The countdown runs against a {@link System#nanoTime()} deadline, so wall clock steps such as NTP corrections
+ * don't make it jump. The wall clock end time is only kept for persistence, and how far the two clocks have drifted
+ * apart is reported by {@link #getClockDrift()}.
+ * <br>Countdowns can be paused, resumed and given a new deadline in place, which keeps the same handler and only
+ * sends what changed on screen.
  *
  * @author Jim, LeonTG & ghowdenb
  */
 public final class TimerRunnable implements Runnable {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_DEADLINE_NANOS = Duration.ofDays(365L * 100).toNanos();
+    private static final long LATE_END_MILLIS = 100L;
+
     private final TimerHandler handler;
+    private final DurationFormatter formatter;
+    private final LocalizedRenderer renderer;
     private final Main plugin;
+    private final ThresholdActions actions;
 
+    private final String id;
     private final Component message;
-    private final Instant endTime;
+    private final String plainMessage;
+    private Instant endTime;
+    private long endMillis;
+    private long endNanos;
 
     private final boolean countdown;
-    private int jobId = -1;
+    private boolean running = true;
+    private boolean paused = false;
+    private long pausedNanos = 0;
 
     private long remaining = 0;
     private long total = 0;
+    private long nextUpdate = Long.MAX_VALUE;
+    private long clockDrift = 0;
+    private volatile TimerSnapshot snapshot;
+
+    TimerRunnable(String id, Component message, @Nullable Instant endTime, TimerHandler handler,
+                  DurationFormatter formatter) {
+        this(id, message, endTime, handler, formatter,
+             new LocalizedRenderer(message, formatter, null, Localization.NONE), null);
+    }
 
-    public TimerRunnable(Component message, @Nullable Instant endTime, TimerHandler handler) {
+    TimerRunnable(String id, Component message, @Nullable Instant endTime, TimerHandler handler,
+                  DurationFormatter formatter, LocalizedRenderer renderer, @Nullable ThresholdActions actions) {
         this.plugin = Main.getInstance();
+        this.actions = actions;
         this.handler = handler;
+        this.formatter = formatter;
+        this.renderer = renderer;
 
+        this.id = id;
         this.message = message;
+        this.plainMessage = Main.plain.serialize(message);
         this.endTime = endTime;
         this.countdown = endTime != null;
+        this.endMillis = countdown ? endTime.toEpochMilli() : Long.MAX_VALUE;
+
+        long nowNanos = System.nanoTime();
+        long untilEnd = countdown ? TimeUnit.MILLISECONDS.toNanos(endMillis - System.currentTimeMillis()) : 0;
+        this.endNanos = countdown ? nowNanos + Math.min(untilEnd, MAX_DEADLINE_NANOS) : Long.MAX_VALUE;
 
         if(this.countdown) {
-            Instant now = Instant.now();
-            this.total = this.remaining = Duration.between(now, endTime).getSeconds();
-            handler.show(message.append(Component.text(" " + getFriendlyTime(remaining))));
-            jobId = Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, this, 0, 1L);
+            this.total = this.remaining = getRemainingAt(nowNanos);
+            this.nextUpdate = getNextUpdateAt(remaining);
+            handler.show(renderer.render(remaining, total));
+
+            if(actions != null) {
+                actions.start(id, remaining);
+            }
         } else {
             handler.show(message);
         }
+
+        publishSnapshot();
     }
 
     @Override
     public void run() {
-        if(!countdown) {
+        tick(System.nanoTime(), 0);
+    }
+
+    /**
+     * Update the timer for the given time.
+     * <br>Safe to call late, the remaining time is always worked out from the deadline rather than by counting ticks,
+     * so a lagging tick skips straight to the right second and a deadline passed during lag ends the timer.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @param frameNanos The interval between smooth progress updates, or 0 to only update progress each second.
+     */
+    void tick(long now, long frameNanos) {
+        if(!countdown || !running || paused) {
             return;
         }
 
-        long newRemaining = Duration.between(Instant.now(), endTime).getSeconds();
+        long newRemaining = getRemainingAt(now);
+        boolean smooth = frameNanos > 0 && newRemaining > 0;
 
         if (remaining != newRemaining) {
-            handler.setText(message.append(Component.text(" " + getFriendlyTime(remaining))));
+            TimerUpdateEvent event = new TimerUpdateEvent();
+            event.begin();
+
             remaining = newRemaining;
-            handler.updateProgress(remaining, total);
+            clockDrift = (endMillis - System.currentTimeMillis()) - TimeUnit.NANOSECONDS.toMillis(endNanos - now);
+            handler.setText(renderer.render(Math.max(remaining, 0), total));
+
+            if (smooth) {
+                handler.setProgress(getProgressAt(now));
+            } else {
+                handler.updateProgress(Math.max(remaining, 0), total);
+            }
+
+            handler.flush();
+            publishSnapshot();
+
+            if(actions != null) {
+                actions.reach(id, Math.max(remaining, 0));
+            }
+
+            if(TimerSecondEvent.hasListeners()) {
+                Bukkit.getPluginManager().callEvent(new TimerSecondEvent(id, Math.max(remaining, 0), total));
+            }
+
+            if(event.shouldCommit()) {
+                event.timerId = id;
+                event.remaining = remaining;
+                event.commit();
+            }
+        } else if (smooth) {
+            handler.setProgress(getProgressAt(now));
+            handler.flush();
         }
 
-        if(newRemaining == 0) {
-            plugin.getLogger().info("Timer has ended for \"" + Main.plain.serialize(message) + "\"");
-            cancel();
+        nextUpdate = smooth ? Math.min(getNextUpdateAt(newRemaining), now + frameNanos)
+                            : getNextUpdateAt(newRemaining);
+
+        if(newRemaining <= 0) {
+            long overshoot = TimeUnit.NANOSECONDS.toMillis(now - endNanos);
+
+            if(overshoot >= LATE_END_MILLIS) {
+                plugin.getLogger().info("Timer has ended for \"" + plainMessage + "\" (" + overshoot + "ms late)");
+            } else {
+                plugin.getLogger().info("Timer has ended for \"" + plainMessage + "\"");
+            }
+
+            if(Math.abs(clockDrift) >= LATE_END_MILLIS) {
+                plugin.getLogger().info("The system clock drifted " + clockDrift + "ms from the countdown of \""
+                                                + plainMessage + "\"");
+            }
+
+            stop(TimerEndEvent.Reason.ENDED);
         }
     }
 
     /**
-     * Cancel the timer task if it's running.
+     * Freeze the countdown at its current time, leaving it on display.
+     * <br>The owning {@link TimerRegistry} must take the timer out of its queue first, as this changes
+     * {@link #getNextUpdate()}.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return True if the timer was paused, false if it isn't a running countdown or is already paused.
      */
-    public void cancel() {
-        Bukkit.getScheduler().cancelTask(jobId);
-        handler.hide();
+    boolean pause(long now) {
+        if(!countdown || !running || paused) {
+            return false;
+        }
+
+        pausedNanos = Math.max(endNanos - now, 0);
+        paused = true;
+        nextUpdate = Long.MAX_VALUE;
+        return true;
     }
 
     /**
-     * Check if the timer is currently running.
+     * Continue a paused countdown from where it was paused.
+     * <br>The owning {@link TimerRegistry} must take the timer out of its queue first.
      *
-     * @return True if it is, false otherwise.
+     * @param now The current {@link System#nanoTime()}.
+     * @return True if the timer was resumed, false if it isn't paused.
      */
-    public boolean isRunning() {
-        if(!countdown) {
-            return true;
+    boolean resume(long now) {
+        if(!running || !paused) {
+            return false;
         }
 
-        BukkitScheduler sch = Bukkit.getScheduler();
-        return sch.isCurrentlyRunning(jobId) || sch.isQueued(jobId);
+        paused = false;
+        moveDeadline(now, pausedNanos);
+        nextUpdate = remaining > 0 ? getNextUpdateAt(remaining) : now;
+        return true;
     }
 
     /**
-     * Get the handler for the timer.
+     * Change the time left on the countdown, keeping it paused if it is.
+     * <br>The display is updated straight away, and the total grows if needed so the progress never goes above
+     * full. Threshold actions are re-armed for marks the countdown will reach again. A countdown set to zero ends on
+     * the next tick. The owning {@link TimerRegistry} must take the timer out of its queue first.
      *
-     * @return The timer handler.
+     * @param now The current {@link System#nanoTime()}.
+     * @param remainingNanos The new time left, in nanoseconds.
+     * @return True if the time was changed, false if the timer isn't a running countdown.
      */
-    public TimerHandler getHandler() {
-        return handler;
-    }
+    boolean setRemaining(long now, long remainingNanos) {
+        if(!countdown || !running) {
+            return false;
+        }
 
-    private static final long SECONDS_PER_DAY = 86400;
-    private static final long SECONDS_PER_HOUR = 3600;
-    private static final long SECONDS_PER_MINUTE = 60;
+        long clamped = Math.clamp(remainingNanos, 0, MAX_DEADLINE_NANOS);
 
-    /**
-     * Converts the seconds into a string with hours, minutes and seconds.
-     *
-     * @param seconds the number of seconds.
-     * @return The converted seconds.
-     */
-    private String getFriendlyTime(long seconds) {
-        int days = (int) Math.floor(seconds / (double) SECONDS_PER_DAY);
-        seconds -= days * SECONDS_PER_DAY;
+        if(paused) {
+            pausedNanos = clamped;
+        } else {
+            moveDeadline(now, clamped);
+        }
 
-        int hours = (int) Math.floor(seconds / (double) SECONDS_PER_HOUR);
-        seconds -= hours * SECONDS_PER_HOUR;
+        long newRemaining = Math.floorDiv(clamped, NANOS_PER_SECOND);
+        remaining = newRemaining;
+        total = Math.max(total, newRemaining);
 
-        int minutes = (int) Math.floor(seconds / (double) SECONDS_PER_MINUTE);
-        seconds -= minutes * SECONDS_PER_MINUTE;
+        handler.setText(renderer.render(newRemaining, total));
+        handler.updateProgress(newRemaining, total);
+        handler.flush();
+        publishSnapshot();
 
-        ArrayList<String> parts = new ArrayList<>();
+        if(actions != null) {
+            actions.seek(newRemaining);
 
-        if (days > 0) {
-            parts.add(days + "d");
+            if(!paused) {
+                actions.reach(id, newRemaining);
+            }
         }
 
-        if (hours > 0) {
-            parts.add(hours + "h");
-        }
+        nextUpdate = paused ? Long.MAX_VALUE : newRemaining > 0 ? getNextUpdateAt(newRemaining) : now;
+        return true;
+    }
 
-        if (minutes > 0) {
-            parts.add(minutes + "m");
+    /**
+     * Get the exact time left on the countdown.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return The time left in nanoseconds, or 0 for infinite timers.
+     */
+    long getRemainingNanos(long now) {
+        if(!countdown) {
+            return 0;
         }
 
-        if(seconds > 0 || parts.isEmpty()) {
-            parts.add(seconds + "s");
+        return paused ? pausedNanos : Math.max(endNanos - now, 0);
+    }
+
+    private void moveDeadline(long now, long untilEnd) {
+        endNanos = now + untilEnd;
+        endMillis = System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(untilEnd);
+        endTime = Instant.ofEpochMilli(endMillis);
+    }
+
+    private void publishSnapshot() {
+        if(!countdown) {
+            snapshot = new TimerSnapshot(id, plainMessage, false, 0, 0, "", "", "");
+            return;
         }
 
-        return String.join(" ", parts);
+        long shown = Math.max(remaining, 0);
+        snapshot = new TimerSnapshot(id, plainMessage, true, shown, total, String.valueOf(shown),
+                                     formatter.clock(shown), formatter.friendly(shown));
     }
 
-    private String getClockTime(long seconds) {
-        int days = (int) Math.floor(seconds / (double) SECONDS_PER_DAY);
-        seconds -= days * SECONDS_PER_DAY;
+    /**
+     * Get the whole seconds remaining at the given time, rounded the same way as {@link Duration#getSeconds()}.
+     *
+     * @param now The {@link System#nanoTime()}.
+     * @return The remaining seconds.
+     */
+    private long getRemainingAt(long now) {
+        return Math.floorDiv(endNanos - now, NANOS_PER_SECOND);
+    }
 
-        int hours = (int) Math.floor(seconds / (double) SECONDS_PER_HOUR);
-        seconds -= hours * SECONDS_PER_HOUR;
+    /**
+     * Get the exact fraction of the timer left at the given time, for smooth progress.
+     *
+     * @param now The {@link System#nanoTime()}.
+     * @return The progress, between 0 and 1.
+     */
+    private float getProgressAt(long now) {
+        return total > 0 ? Math.clamp((float) (endNanos - now) / (total * NANOS_PER_SECOND), 0.0F, 1.0F) : 0.0F;
+    }
 
-        int minutes = (int) Math.floor(seconds / (double) SECONDS_PER_MINUTE);
-        seconds -= minutes * SECONDS_PER_MINUTE;
+    /**
+     * Get the earliest time at which the remaining seconds will drop below the given value.
+     *
+     * @param remaining The currently displayed remaining seconds.
+     * @return The {@link System#nanoTime()}.
+     */
+    private long getNextUpdateAt(long remaining) {
+        return endNanos - remaining * NANOS_PER_SECOND + 1;
+    }
 
-        ArrayList<String> parts = new ArrayList<>();
+    /**
+     * Stop the timer if it's running.
+     * <br>The owning {@link TimerRegistry} drops stopped timers on its next tick.
+     */
+    public void cancel() {
+        stop(TimerEndEvent.Reason.CANCELLED);
+    }
 
-        if (days > 0) {
-            parts.add(String.valueOf(days));
+    private void stop(TimerEndEvent.Reason reason) {
+        if(!running) {
+            return;
         }
 
-        if (hours > 0) {
-            parts.add(String.valueOf(hours));
+        running = false;
+        snapshot = null;
+        handler.hide();
+
+        if(TimerEndEvent.hasListeners()) {
+            Bukkit.getPluginManager().callEvent(new TimerEndEvent(id, message, reason));
         }
+    }
 
-        parts.add(String.format("%02d", minutes));
-        parts.add(String.format("%02d", seconds));
+    /**
+     * Check if the timer is currently running.
+     *
+     * @return True if it is, false otherwise.
+     */
+    public boolean isRunning() {
+        return running;
+    }
 
-        return String.join(":", parts);
+    /**
+     * Get the state of the timer as of its last displayed second.
+     * <br>Safe to call from any thread, the snapshot is immutable and replaced whole each second.
+     *
+     * @return The snapshot, or null if the timer has stopped.
+     */
+    public @Nullable TimerSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the handler for the timer.
+     *
+     * @return The timer handler.
+     */
+    public TimerHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Get the threshold actions of the timer.
+     *
+     * @return The actions, or null if the timer has none.
+     */
+    public @Nullable ThresholdActions getActions() {
+        return actions;
+    }
+
+    public String getId() {
+        return id;
     }
 
     public Component getMessage() {
         return message;
     }
 
+    /**
+     * Get the wall clock end time of the countdown.
+     * <br>Stale while the timer is paused, see {@link #getPausedRemaining()}.
+     *
+     * @return The end time, or null for infinite timers.
+     */
     public Instant getEndTime() {
         return endTime;
     }
 
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Get the time left on a paused countdown.
+     *
+     * @return The frozen time left, or null if the timer isn't paused.
+     */
+    public @Nullable Duration getPausedRemaining() {
+        return paused ? Duration.ofNanos(pausedNanos) : null;
+    }
+
     public long getRemaining() {
         return remaining;
     }
 
     public String getFriendlyRemaining() {
-        return getFriendlyTime(remaining);
+        return formatter.friendly(remaining);
     }
 
     public String getClockRemaining() {
-        return getClockTime(remaining);
+        return formatter.clock(remaining);
+    }
+
+    /**
+     * Get the time at which the displayed remaining time or smooth progress next changes.
+     *
+     * @return The {@link System#nanoTime()} of the next update, or {@link Long#MAX_VALUE} for infinite timers.
+     */
+    public long getNextUpdate() {
+        return nextUpdate;
+    }
+
+    /**
+     * Get how far the wall clock has drifted from the countdown, as of the last second change.
+     * <br>Positive when the wall clock is behind, so the saved end time is further away than the countdown shows.
+     *
+     * @return The drift in milliseconds.
+     */
+    public long getClockDrift() {
+        return clockDrift;
     }
 
     public long getTotal() {
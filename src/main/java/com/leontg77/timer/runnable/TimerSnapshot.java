@@ -0,0 +1,22 @@
+package com.leontg77.timer.runnable;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable view of a timer's state for the second it was published in.
+ * <br>All strings are rendered up front, so snapshots can be read from any thread without touching the timer or the
+ * scheduler.
+ *
+ * @param id The id of the timer.
+ * @param message The timer message as plain text.
+ * @param countdown Whether the timer counts down, false for infinite timers.
+ * @param remaining The remaining seconds, 0 for infinite timers.
+ * @param total The total seconds, 0 for infinite timers.
+ * @param remainingText The remaining seconds as text, empty for infinite timers.
+ * @param remainingClock The remaining time in clock format, empty for infinite timers.
+ * @param remainingHuman The remaining time in friendly format, empty for infinite timers.
+ */
+public record TimerSnapshot(@NotNull String id, @NotNull String message, boolean countdown, long remaining,
+                            long total, @NotNull String remainingText, @NotNull String remainingClock,
+                            @NotNull String remainingHuman) {
+}
@@ -0,0 +1,32 @@
+package com.leontg77.timer.schedule;
+
+import java.util.Locale;
+
+/**
+ * What to do about occurrences missed while the server was down or lagging too much to start their countdown.
+ */
+public enum MissedFirePolicy {
+    /**
+     * Forget missed occurrences and wait for the next one.
+     */
+    SKIP,
+    /**
+     * Run one catch-up countdown straight away, however many occurrences were missed.
+     */
+    FIRE_ONCE;
+
+    public String serialize() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Get the policy with the given name.
+     *
+     * @param name The name, such as {@code fire-once}.
+     * @return The policy.
+     * @throws IllegalArgumentException If there is no policy with that name.
+     */
+    public static MissedFirePolicy parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,142 @@
+package com.leontg77.timer.schedule;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * When a schedule occurs.
+ * <br>Occurrences are worked out directly from the time asked about, so finding the next one after a long downtime
+ * doesn't step through every occurrence in between.
+ */
+public sealed interface Recurrence {
+    /**
+     * Get the first occurrence strictly after the given time.
+     *
+     * @param after The time.
+     * @return The occurrence, or null if there are no more.
+     */
+    @Nullable Instant next(@NotNull Instant after);
+
+    /**
+     * Get the string form of this recurrence, as accepted by {@link #parse(String)}.
+     *
+     * @return The serialized recurrence.
+     */
+    String serialize();
+
+    /**
+     * Get the time between occurrences.
+     *
+     * @return The period, or null if the recurrence only occurs once.
+     */
+    @Nullable Duration period();
+
+    /**
+     * Occurs once, at a fixed time.
+     *
+     * @param at The time.
+     */
+    record Once(@NotNull Instant at) implements Recurrence {
+        @Override
+        public @Nullable Instant next(@NotNull Instant after) {
+            return at.isAfter(after) ? at : null;
+        }
+
+        @Override
+        public @Nullable Duration period() {
+            return null;
+        }
+
+        @Override
+        public String serialize() {
+            return "once:" + at.toEpochMilli();
+        }
+    }
+
+    /**
+     * Occurs every period, counted from an anchor time.
+     *
+     * @param anchor The time of one occurrence.
+     * @param period The time between occurrences.
+     */
+    record Interval(@NotNull Instant anchor, @NotNull Duration period) implements Recurrence {
+        public Interval {
+            if (period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Period must be positive");
+            }
+        }
+
+        @Override
+        public Instant next(@NotNull Instant after) {
+            long periodMillis = period.toMillis();
+            long periods = Math.floorDiv(after.toEpochMilli() - anchor.toEpochMilli(), periodMillis) + 1;
+            return anchor.plusMillis(periods * periodMillis);
+        }
+
+        @Override
+        public String serialize() {
+            return "every:" + period.toSeconds() + ":" + anchor.toEpochMilli();
+        }
+    }
+
+    /**
+     * Occurs every day at a time of day in the server's time zone.
+     *
+     * @param time The time of day.
+     */
+    record Daily(@NotNull LocalTime time) implements Recurrence {
+        @Override
+        public Instant next(@NotNull Instant after) {
+            ZonedDateTime candidate = after.atZone(ZoneId.systemDefault()).with(time);
+
+            if (!candidate.toInstant().isAfter(after)) {
+                candidate = candidate.plusDays(1).with(time);
+            }
+
+            return candidate.toInstant();
+        }
+
+        @Override
+        public String serialize() {
+            return "daily:" + time;
+        }
+
+        @Override
+        public Duration period() {
+            return Duration.ofDays(1);
+        }
+    }
+
+    /**
+     * Parse a serialized recurrence.
+     *
+     * @param input The serialized recurrence.
+     * @return The recurrence.
+     * @throws IllegalArgumentException If the input isn't a valid recurrence.
+     */
+    static Recurrence parse(@NotNull String input) {
+        String[] parts = input.split(":", 2);
+
+        try {
+            return switch (parts[0]) {
+                case "once" -> new Once(Instant.ofEpochMilli(Long.parseLong(parts[1])));
+                case "every" -> {
+                    String[] interval = parts[1].split(":");
+                    yield new Interval(Instant.ofEpochMilli(Long.parseLong(interval[1])),
+                                       Duration.ofSeconds(Long.parseLong(interval[0])));
+                }
+                case "daily" -> new Daily(LocalTime.parse(parts[1]));
+                default -> throw new IllegalArgumentException("Unknown recurrence " + input);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid recurrence " + input, ex);
+        }
+    }
+}
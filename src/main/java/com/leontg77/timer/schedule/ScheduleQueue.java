@@ -0,0 +1,195 @@
+package com.leontg77.timer.schedule;
+
+import com.leontg77.timer.scheduler.TaskScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Runs timer schedules.
+ * <br>Schedules are kept in a queue ordered by when their next countdown starts, so each tick only looks at the head
+ * of the queue however many schedules there are. The task only exists while at least one schedule is queued.
+ * <br>Occurrences that have already passed by the time they're looked at, because the server was down or stalled,
+ * are handled by the schedule's {@link MissedFirePolicy}.
+ */
+public final class ScheduleQueue implements Runnable {
+    private final TaskScheduler scheduler;
+    private final Target target;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::startAt));
+    private TaskScheduler.TaskHandle task = null;
+
+    public ScheduleQueue(TaskScheduler scheduler, Target target) {
+        this.scheduler = scheduler;
+        this.target = target;
+    }
+
+    /**
+     * Add a schedule, replacing any schedule with the same id.
+     *
+     * @param schedule The schedule.
+     * @param lastOccurrence The last occurrence already handled, or null for a new schedule.
+     */
+    public synchronized void add(@NotNull TimerSchedule schedule, @Nullable Instant lastOccurrence) {
+        remove(schedule.id());
+
+        Instant now = Instant.now();
+        queueNext(schedule, lastOccurrence != null ? lastOccurrence : now, now);
+    }
+
+    /**
+     * Remove a schedule.
+     *
+     * @param id The id of the schedule.
+     * @return True if a schedule was removed.
+     */
+    public synchronized boolean remove(@NotNull String id) {
+        Entry entry = entries.remove(id);
+
+        if (entry == null) {
+            return false;
+        }
+
+        queue.remove(entry);
+        stopTaskIfIdle();
+        return true;
+    }
+
+    /**
+     * Remove every schedule.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        queue.clear();
+        stopTaskIfIdle();
+    }
+
+    /**
+     * Get the queued schedules, ordered by when their next countdown starts.
+     *
+     * @return The entries.
+     */
+    public synchronized List<Entry> getEntries() {
+        return queue.stream().sorted(queue.comparator()).toList();
+    }
+
+    @Override
+    public synchronized void run() {
+        Instant now = Instant.now();
+        Set<String> handled = new HashSet<>();
+        List<Entry> deferred = new ArrayList<>();
+        Entry entry;
+
+        while ((entry = queue.peek()) != null && !entry.startAt().isAfter(now)) {
+            queue.poll();
+
+            // Each schedule is handled at most once per run, anything it queued that's already due waits a tick.
+            if (!handled.add(entry.schedule().id())) {
+                deferred.add(entry);
+                continue;
+            }
+
+            entries.remove(entry.schedule().id());
+
+            TimerSchedule schedule = entry.schedule();
+            Instant occurrence = entry.occurrence();
+
+            if (occurrence.isAfter(now)) {
+                target.fire(schedule, occurrence);
+                target.occurred(schedule, occurrence);
+                queueNext(schedule, occurrence, now);
+            } else {
+                queueNext(schedule, occurrence.minusMillis(1), now);
+            }
+        }
+
+        queue.addAll(deferred);
+        stopTaskIfIdle();
+    }
+
+    /**
+     * Queue the first occurrence of a schedule after the given time, applying the missed fire policy if it has
+     * already passed.
+     */
+    private void queueNext(TimerSchedule schedule, Instant after, Instant now) {
+        Instant next = schedule.recurrence().next(after);
+
+        if (next != null && !next.isAfter(now)) {
+            if (schedule.policy() == MissedFirePolicy.FIRE_ONCE) {
+                target.fire(schedule, now.plus(schedule.lead()));
+            }
+
+            target.occurred(schedule, now);
+            next = schedule.recurrence().next(now);
+        }
+
+        if (next == null) {
+            target.finished(schedule);
+            return;
+        }
+
+        Entry entry = new Entry(schedule, next, next.minus(schedule.lead()));
+        entries.put(schedule.id(), entry);
+        queue.add(entry);
+
+        if (task == null) {
+            task = scheduler.runTimer(this, 1L, 1L);
+        }
+    }
+
+    private void stopTaskIfIdle() {
+        if (task == null || !queue.isEmpty()) {
+            return;
+        }
+
+        task.cancel();
+        task = null;
+    }
+
+    /**
+     * A queued schedule.
+     *
+     * @param schedule The schedule.
+     * @param occurrence The next occurrence.
+     * @param startAt When the countdown to the next occurrence starts.
+     */
+    public record Entry(@NotNull TimerSchedule schedule, @NotNull Instant occurrence, @NotNull Instant startAt) {
+    }
+
+    /**
+     * Carries out what schedules do.
+     */
+    public interface Target {
+        /**
+         * Start a countdown for a schedule.
+         *
+         * @param schedule The schedule.
+         * @param endTime When the countdown ends.
+         */
+        void fire(@NotNull TimerSchedule schedule, @NotNull Instant endTime);
+
+        /**
+         * Record that a schedule has handled the occurrences up to the given time.
+         *
+         * @param schedule The schedule.
+         * @param occurrence The time.
+         */
+        void occurred(@NotNull TimerSchedule schedule, @NotNull Instant occurrence);
+
+        /**
+         * Called when a schedule has no more occurrences.
+         *
+         * @param schedule The schedule.
+         */
+        void finished(@NotNull TimerSchedule schedule);
+    }
+}
@@ -0,0 +1,39 @@
+package com.leontg77.timer.schedule;
+
+import com.leontg77.timer.audience.TimerAudience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * A timer started automatically on a schedule.
+ * <br>Each occurrence is the end of a countdown which starts {@code lead} before it, so a daily reset at midnight
+ * with a lead of ten minutes counts down from 23:50.
+ * <br>The lead must be at least a second, so a countdown can start before its occurrence is due, and shorter than the
+ * time between occurrences, otherwise the next countdown would start before the previous one ends.
+ *
+ * @param id The id of the schedule, also used for the timers it starts.
+ * @param message The timer message.
+ * @param audience The players to show the timer to.
+ * @param recurrence When the countdowns end.
+ * @param lead How long each countdown runs for.
+ * @param policy What to do about missed occurrences.
+ */
+public record TimerSchedule(@NotNull String id, @NotNull Component message, @NotNull TimerAudience audience,
+                            @NotNull Recurrence recurrence, @NotNull Duration lead, @NotNull MissedFirePolicy policy) {
+    private static final Duration MIN_LEAD = Duration.ofSeconds(1);
+
+    public TimerSchedule {
+        if (lead.compareTo(MIN_LEAD) < 0) {
+            throw new IllegalArgumentException("Lead must be at least " + MIN_LEAD.toSeconds() + "s");
+        }
+
+        Duration period = recurrence.period();
+
+        if (period != null && lead.compareTo(period) >= 0) {
+            throw new IllegalArgumentException("Lead of " + lead.toSeconds() + "s must be shorter than the "
+                                                       + period.toSeconds() + "s between occurrences");
+        }
+    }
+}
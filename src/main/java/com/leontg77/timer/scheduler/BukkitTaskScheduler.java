@@ -0,0 +1,48 @@
+package com.leontg77.timer.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Task scheduler backed by the {@link org.bukkit.scheduler.BukkitScheduler}, where everything runs on the main thread.
+ */
+public final class BukkitTaskScheduler implements TaskScheduler {
+    private final Plugin plugin;
+
+    public BukkitTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public TaskHandle runTimer(@NotNull Runnable task, long delay, long period) {
+        BukkitTask bukkitTask = plugin.getServer().getScheduler().runTaskTimer(plugin, task, delay, period);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public TaskHandle runLater(@NotNull Runnable task, long delay) {
+        BukkitTask bukkitTask = plugin.getServer().getScheduler().runTaskLater(plugin, task, delay);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public void runAsync(@NotNull Runnable task) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public void runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delay) {
+        plugin.getServer().getScheduler().runTaskLater(plugin, task, delay);
+    }
+}
@@ -0,0 +1,53 @@
+package com.leontg77.timer.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task scheduler for region threaded servers.
+ * <br>Timers tick on the async scheduler, global tasks run on the global region and entity tasks run on the entity's
+ * own scheduler.
+ */
+public final class FoliaTaskScheduler implements TaskScheduler {
+    private static final long MILLIS_PER_TICK = 50;
+
+    private final Plugin plugin;
+
+    public FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public TaskHandle runTimer(@NotNull Runnable task, long delay, long period) {
+        ScheduledTask scheduled = plugin.getServer().getAsyncScheduler()
+                .runAtFixedRate(plugin, ignored -> task.run(), Math.max(1, delay) * MILLIS_PER_TICK,
+                                period * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public TaskHandle runLater(@NotNull Runnable task, long delay) {
+        ScheduledTask scheduled = plugin.getServer().getGlobalRegionScheduler()
+                .runDelayed(plugin, ignored -> task.run(), Math.max(1, delay));
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void runAsync(@NotNull Runnable task) {
+        plugin.getServer().getAsyncScheduler().runNow(plugin, ignored -> task.run());
+    }
+
+    @Override
+    public void runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        entity.getScheduler().run(plugin, ignored -> task.run(), null);
+    }
+
+    @Override
+    public void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delay) {
+        entity.getScheduler().runDelayed(plugin, ignored -> task.run(), null, Math.max(1, delay));
+    }
+}
@@ -0,0 +1,82 @@
+package com.leontg77.timer.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Scheduler abstraction, so the plugin runs on both the regular Bukkit scheduler and region threaded servers such as
+ * Folia.
+ * <br>Delays and periods are in server ticks.
+ */
+public interface TaskScheduler {
+    /**
+     * Run a repeating task which isn't tied to any region or entity, used for ticking timers.
+     *
+     * @param task The task to run.
+     * @param delay The delay before the first run.
+     * @param period The delay between runs.
+     * @return A handle for cancelling the task.
+     */
+    TaskHandle runTimer(@NotNull Runnable task, long delay, long period);
+
+    /**
+     * Run a delayed task which isn't tied to any region or entity.
+     *
+     * @param task The task to run.
+     * @param delay The delay before running.
+     * @return A handle for cancelling the task.
+     */
+    TaskHandle runLater(@NotNull Runnable task, long delay);
+
+    /**
+     * Run a task off the server threads as soon as possible, used for blocking file I/O.
+     *
+     * @param task The task to run.
+     */
+    void runAsync(@NotNull Runnable task);
+
+    /**
+     * Run a task on the thread owning an entity, as soon as possible.
+     * <br>The task may run immediately if the caller already owns the entity.
+     *
+     * @param entity The entity.
+     * @param task The task to run.
+     */
+    void runForEntity(@NotNull Entity entity, @NotNull Runnable task);
+
+    /**
+     * Run a delayed task on the thread owning an entity.
+     *
+     * @param entity The entity.
+     * @param task The task to run.
+     * @param delay The delay before running.
+     */
+    void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delay);
+
+    /**
+     * Create the scheduler for the current server.
+     *
+     * @param plugin The plugin to schedule tasks for.
+     * @return A Folia scheduler on region threaded servers, or a Bukkit scheduler otherwise.
+     */
+    static TaskScheduler create(@NotNull Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new FoliaTaskScheduler(plugin);
+        } catch (ClassNotFoundException ignored) {
+            return new BukkitTaskScheduler(plugin);
+        }
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    @FunctionalInterface
+    interface TaskHandle {
+        /**
+         * Cancel the task if it hasn't run yet, or stop it repeating.
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,387 @@
+package com.leontg77.timer.storage;
+
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.schedule.MissedFirePolicy;
+import com.leontg77.timer.schedule.Recurrence;
+import com.leontg77.timer.schedule.TimerSchedule;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary append-only journal of timer state changes.
+ * <br>The file is a header followed by records, each a length, a type and payload, and a CRC32 of the type and
+ * payload. Changes are appended, so a write costs the size of the change rather than the size of the state, and the
+ * journal is compacted into a snapshot of the live state once it has grown enough.
+ * <br>A record left incomplete or corrupt by a crash ends the replay, and is cut off so later appends start from the
+ * last good record. An intact record that can't be decoded, such as one holding a value that is no longer valid, is
+ * skipped instead. Compaction writes a new file and atomically renames it over the journal.
+ * <br>Not thread safe, only used from the {@link TimerStore} writer thread.
+ */
+final class TimerJournal {
+    private static final int MAGIC = 0x544D524A;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private static final byte TYPE_SAVE = 1;
+    private static final byte TYPE_REMOVE = 2;
+    private static final byte TYPE_STYLE = 3;
+    private static final byte TYPE_SCHEDULE = 4;
+    private static final byte TYPE_UNSCHEDULE = 5;
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    private final Path file;
+    private FileChannel channel = null;
+    private int records = 0;
+    private int skipped = 0;
+
+    TimerJournal(Path file) {
+        this.file = file;
+    }
+
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Read every intact record in the journal, cutting off a torn or corrupt tail.
+     *
+     * @return The entries, in the order they were written.
+     * @throws IOException If the journal can't be read.
+     */
+    List<Entry> replay() throws IOException {
+        close();
+        records = 0;
+        skipped = 0;
+
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            Path corrupt = file.resolveSibling(file.getFileName() + ".corrupt");
+            Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            throw new IOException(file.getFileName() + " is not a timer journal, moved it to " + corrupt.getFileName());
+        }
+
+        int valid = buffer.position();
+
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt();
+
+            if (length <= 0 || length > MAX_RECORD_SIZE || buffer.remaining() < length + Integer.BYTES) {
+                break;
+            }
+
+            ByteBuffer body = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+
+            if (checksum(body) != buffer.getInt()) {
+                break;
+            }
+
+            // The record is intact, so a failure here is in its contents rather than the file. Skipping it keeps
+            // every record after it, which cutting the journal off here would lose.
+            try {
+                entries.add(decode(body));
+            } catch (RuntimeException ex) {
+                skipped++;
+            }
+
+            valid = buffer.position();
+            records++;
+        }
+
+        if (valid < buffer.limit()) {
+            try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                truncate.truncate(valid);
+                truncate.force(true);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Append entries to the journal and flush them to disk.
+     *
+     * @param entries The entries.
+     * @throws IOException If the entries can't be written.
+     */
+    void append(Collection<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        if (channel == null) {
+            boolean created = !Files.exists(file);
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.APPEND);
+
+            if (created) {
+                writeFully(channel, header());
+            }
+        }
+
+        long size = channel.size();
+
+        try {
+            writeFully(channel, encode(entries));
+            channel.force(false);
+        } catch (IOException ex) {
+            // Cut off the partly written batch, so later appends don't end up behind a torn record that the next
+            // replay would stop at.
+            try (FileChannel torn = channel) {
+                channel = null;
+                torn.truncate(size);
+            } catch (IOException truncateEx) {
+                ex.addSuppressed(truncateEx);
+            }
+
+            throw ex;
+        }
+
+        records += entries.size();
+    }
+
+    /**
+     * Replace the journal with a snapshot of the live state.
+     *
+     * @param snapshot Entries recreating the live state.
+     * @throws IOException If the snapshot can't be written.
+     */
+    void compact(Collection<Entry> snapshot) throws IOException {
+        close();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, header());
+            writeFully(out, encode(snapshot));
+            out.force(true);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        records = snapshot.size();
+    }
+
+    /**
+     * Get the number of records in the journal, for deciding when to compact.
+     *
+     * @return The record count.
+     */
+    int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Get the number of intact records the last replay skipped because they couldn't be decoded.
+     *
+     * @return The skipped record count.
+     */
+    int getSkippedCount() {
+        return skipped;
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).flip();
+    }
+
+    private static ByteBuffer encode(Collection<Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        CRC32 crc = new CRC32();
+
+        for (Entry entry : entries) {
+            body.reset();
+
+            switch (entry) {
+                case Save(TimerStore.SavedTimer timer) -> {
+                    bodyOut.writeByte(TYPE_SAVE);
+                    writeString(bodyOut, timer.id());
+                    bodyOut.writeLong(timer.endTime() != null ? timer.endTime().toEpochMilli() : Long.MIN_VALUE);
+                    writeString(bodyOut, MINI_MESSAGE.serialize(timer.message()));
+                    writeString(bodyOut, timer.audience().serialize());
+
+                    if (timer.paused() != null) {
+                        bodyOut.writeLong(timer.paused().toMillis());
+                    }
+                }
+                case Remove(String id) -> {
+                    bodyOut.writeByte(TYPE_REMOVE);
+                    writeString(bodyOut, id);
+                }
+                case Style(TimerStore.SavedStyle style) -> {
+                    bodyOut.writeByte(TYPE_STYLE);
+                    writeString(bodyOut, style.color().name());
+                    writeString(bodyOut, style.overlay().name());
+                }
+                case Schedule(TimerStore.SavedSchedule saved) -> {
+                    TimerSchedule schedule = saved.schedule();
+                    bodyOut.writeByte(TYPE_SCHEDULE);
+                    writeString(bodyOut, schedule.id());
+                    writeString(bodyOut, MINI_MESSAGE.serialize(schedule.message()));
+                    writeString(bodyOut, schedule.audience().serialize());
+                    writeString(bodyOut, schedule.recurrence().serialize());
+                    bodyOut.writeLong(schedule.lead().toMillis());
+                    writeString(bodyOut, schedule.policy().serialize());
+                    bodyOut.writeLong(saved.lastOccurrence() != null ? saved.lastOccurrence().toEpochMilli()
+                                                                     : Long.MIN_VALUE);
+                }
+                case Unschedule(String id) -> {
+                    bodyOut.writeByte(TYPE_UNSCHEDULE);
+                    writeString(bodyOut, id);
+                }
+            }
+
+            crc.reset();
+            crc.update(body.toByteArray());
+
+            out.writeInt(body.size());
+            body.writeTo(out);
+            out.writeInt((int) crc.getValue());
+        }
+
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static Entry decode(ByteBuffer body) {
+        byte type = body.get();
+
+        return switch (type) {
+            case TYPE_SAVE -> {
+                String id = readString(body);
+                long endMillis = body.getLong();
+                String message = readString(body);
+                TimerAudience audience = TimerAudience.parse(readString(body));
+                // Only written for paused timers, and absent from records written before pausing existed.
+                Duration paused = body.hasRemaining() ? Duration.ofMillis(body.getLong()) : null;
+
+                yield new Save(new TimerStore.SavedTimer(id, MINI_MESSAGE.deserialize(message),
+                                                         endMillis != Long.MIN_VALUE ? Instant.ofEpochMilli(endMillis)
+                                                                                     : null,
+                                                         audience, paused));
+            }
+            case TYPE_REMOVE -> new Remove(readString(body));
+            case TYPE_STYLE -> new Style(new TimerStore.SavedStyle(BossBar.Color.valueOf(readString(body)),
+                                                                   BossBar.Overlay.valueOf(readString(body))));
+            case TYPE_SCHEDULE -> {
+                String id = readString(body);
+                String message = readString(body);
+                TimerAudience audience = TimerAudience.parse(readString(body));
+                Recurrence recurrence = Recurrence.parse(readString(body));
+                Duration lead = Duration.ofMillis(body.getLong());
+                MissedFirePolicy policy = MissedFirePolicy.parse(readString(body));
+                long lastOccurrence = body.getLong();
+                TimerSchedule schedule;
+
+                try {
+                    schedule = new TimerSchedule(id, MINI_MESSAGE.deserialize(message), audience, recurrence, lead,
+                                                 policy);
+                } catch (IllegalArgumentException ex) {
+                    // Saved before schedules were validated, such as with a lead as long as the period. Dropping the
+                    // schedule, rather than skipping the record, keeps an older version of it from coming back.
+                    yield new Unschedule(id);
+                }
+
+                yield new Schedule(new TimerStore.SavedSchedule(schedule, lastOccurrence != Long.MIN_VALUE
+                                                                          ? Instant.ofEpochMilli(lastOccurrence)
+                                                                          : null));
+            }
+            case TYPE_UNSCHEDULE -> new Unschedule(readString(body));
+            default -> throw new IllegalArgumentException("Unknown journal record type " + type);
+        };
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                                  StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * A journal record.
+     */
+    sealed interface Entry {
+    }
+
+    record Save(@NotNull TimerStore.SavedTimer timer) implements Entry {
+    }
+
+    record Remove(@NotNull String id) implements Entry {
+    }
+
+    record Style(@NotNull TimerStore.SavedStyle style) implements Entry {
+    }
+
+    record Schedule(@NotNull TimerStore.SavedSchedule schedule) implements Entry {
+    }
+
+    record Unschedule(@NotNull String id) implements Entry {
+    }
+}
@@ -0,0 +1,450 @@
+package com.leontg77.timer.storage;
+
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.schedule.TimerSchedule;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind store for timer state and the plugin config.
+ * <br>Changes are applied in memory and written by a single background thread, so callers never wait on disk I/O.
+ * Changes made while a write is pending are batched into that write.
+ * <br>Timer state is kept in a {@link TimerJournal}, so each change only appends the change itself. Timers saved in
+ * the YAML files of older versions are moved into the journal on first load.
+ * <br>The config is written to a temporary file and then atomically renamed over the original, so a crash mid-write
+ * leaves the previous version intact.
+ */
+public final class TimerStore {
+    private static final int MIN_COMPACT_RECORDS = 64;
+    private static final String LEGACY_TIMERS_FILE = "timers.yml";
+
+    private final Logger logger;
+    private final TimerJournal journal;
+    private final Path legacyTimersFile;
+    private final Path configFile;
+    private final ExecutorService writer;
+
+    private final Map<String, SavedTimer> timers = new LinkedHashMap<>();
+    private final Map<String, SavedSchedule> schedules = new LinkedHashMap<>();
+    private SavedStyle style = null;
+    private List<TimerJournal.Entry> pending = new ArrayList<>();
+    private String pendingConfig = null;
+
+    public TimerStore(Logger logger, Path journalFile, Path configFile) {
+        this.logger = logger;
+        this.journal = new TimerJournal(journalFile);
+        this.legacyTimersFile = journalFile.resolveSibling(LEGACY_TIMERS_FILE);
+        this.configFile = configFile;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Timer-Store");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load the saved state by replaying the journal, replacing any in-memory state.
+     * <br>Waits for pending writes first, so the result always reflects the latest changes. Changes saved while the
+     * journal is being read are kept on top of it.
+     *
+     * @return The saved timers, in the order they were first saved.
+     */
+    public List<SavedTimer> load() {
+        try {
+            return writer.submit(this::replay).get();
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, "Failed to load saved timers", ex);
+            return List.of();
+        }
+    }
+
+    /**
+     * Save the state of a timer, replacing any previous state with the same id.
+     *
+     * @param timer The timer state.
+     */
+    public synchronized void save(@NotNull SavedTimer timer) {
+        timers.put(timer.id(), timer);
+        queue(new TimerJournal.Save(timer));
+    }
+
+    /**
+     * Forget the saved state of a timer.
+     *
+     * @param id The id of the timer.
+     */
+    public synchronized void remove(@NotNull String id) {
+        if (timers.remove(id) != null) {
+            queue(new TimerJournal.Remove(id));
+        }
+    }
+
+    /**
+     * Get the saved timers, as of the last load and any changes since.
+     *
+     * @return The timers, in the order they were first saved.
+     */
+    public synchronized List<SavedTimer> getTimers() {
+        return List.copyOf(timers.values());
+    }
+
+    /**
+     * Get the saved state of a timer.
+     *
+     * @param id The id of the timer.
+     * @return The timer state, or null if none is saved.
+     */
+    public synchronized @Nullable SavedTimer getTimer(@NotNull String id) {
+        return timers.get(id);
+    }
+
+    /**
+     * Get the saved schedules, as of the last load and any changes since.
+     *
+     * @return The schedules, in the order they were first saved.
+     */
+    public synchronized List<SavedSchedule> getSchedules() {
+        return List.copyOf(schedules.values());
+    }
+
+    /**
+     * Save a schedule and how far it has got, replacing any previous schedule with the same id.
+     *
+     * @param schedule The schedule state.
+     */
+    public synchronized void saveSchedule(@NotNull SavedSchedule schedule) {
+        schedules.put(schedule.schedule().id(), schedule);
+        queue(new TimerJournal.Schedule(schedule));
+    }
+
+    /**
+     * Forget a saved schedule.
+     *
+     * @param id The id of the schedule.
+     */
+    public synchronized void removeSchedule(@NotNull String id) {
+        if (schedules.remove(id) != null) {
+            queue(new TimerJournal.Unschedule(id));
+        }
+    }
+
+    /**
+     * Get the boss bar style loaded from or saved to the journal.
+     *
+     * @return The style, or null if none has been saved.
+     */
+    public synchronized @Nullable SavedStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * Save the boss bar style.
+     *
+     * @param style The style.
+     */
+    public synchronized void saveStyle(@NotNull SavedStyle style) {
+        this.style = style;
+        queue(new TimerJournal.Style(style));
+    }
+
+    /**
+     * Queue the plugin config for writing.
+     *
+     * @param contents The serialized config.
+     */
+    public synchronized void saveConfig(@NotNull String contents) {
+        boolean queued = pendingConfig != null;
+        pendingConfig = contents;
+
+        if (!queued) {
+            writer.execute(this::writeConfig);
+        }
+    }
+
+    /**
+     * Write any pending changes and stop the writer thread.
+     */
+    public void close() {
+        writer.execute(() -> {
+            try {
+                journal.close();
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "Failed to close the timer journal", ex);
+            }
+        });
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for timer state to be saved");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<SavedTimer> replay() throws IOException {
+        Map<String, SavedTimer> replayed = new LinkedHashMap<>();
+        Map<String, SavedSchedule> replayedSchedules = new LinkedHashMap<>();
+        SavedStyle replayedStyle = null;
+        boolean migrate = !journal.exists() && Files.exists(legacyTimersFile);
+
+        if (migrate) {
+            readLegacy().forEach(timer -> replayed.put(timer.id(), timer));
+        } else {
+            for (TimerJournal.Entry entry : journal.replay()) {
+                switch (entry) {
+                    case TimerJournal.Save(SavedTimer timer) -> replayed.put(timer.id(), timer);
+                    case TimerJournal.Remove(String id) -> replayed.remove(id);
+                    case TimerJournal.Style(SavedStyle saved) -> replayedStyle = saved;
+                    case TimerJournal.Schedule(SavedSchedule saved) ->
+                            replayedSchedules.put(saved.schedule().id(), saved);
+                    case TimerJournal.Unschedule(String id) -> replayedSchedules.remove(id);
+                }
+            }
+
+            if (journal.getSkippedCount() > 0) {
+                logger.warning("Skipped " + journal.getSkippedCount() + " unreadable record(s) in the timer journal");
+            }
+        }
+
+        List<SavedTimer> loaded;
+
+        synchronized (this) {
+            timers.clear();
+            timers.putAll(replayed);
+            schedules.clear();
+            schedules.putAll(replayedSchedules);
+            style = replayedStyle;
+
+            // Changes made while the journal was read are newer than anything in it and still queued for writing.
+            pending.forEach(this::apply);
+            loaded = List.copyOf(timers.values());
+        }
+
+        if (migrate || journal.getRecordCount() > replayed.size() + replayedSchedules.size() + MIN_COMPACT_RECORDS) {
+            compact();
+        }
+
+        if (migrate) {
+            Files.move(legacyTimersFile, legacyTimersFile.resolveSibling(LEGACY_TIMERS_FILE + ".old"),
+                       StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Moved saved timers from " + LEGACY_TIMERS_FILE + " to the timer journal");
+        }
+
+        return loaded;
+    }
+
+    private void apply(TimerJournal.Entry entry) {
+        switch (entry) {
+            case TimerJournal.Save(SavedTimer timer) -> timers.put(timer.id(), timer);
+            case TimerJournal.Remove(String id) -> timers.remove(id);
+            case TimerJournal.Style(SavedStyle saved) -> style = saved;
+            case TimerJournal.Schedule(SavedSchedule saved) -> schedules.put(saved.schedule().id(), saved);
+            case TimerJournal.Unschedule(String id) -> schedules.remove(id);
+        }
+    }
+
+    private List<SavedTimer> readLegacy() {
+        YamlConfiguration yaml = new YamlConfiguration();
+
+        try {
+            yaml.loadFromString(Files.readString(legacyTimersFile, StandardCharsets.UTF_8));
+        } catch (IOException | InvalidConfigurationException ex) {
+            logger.log(Level.WARNING, "Failed to load saved timers", ex);
+            return List.of();
+        }
+
+        ConfigurationSection section = yaml.getConfigurationSection("timers");
+
+        if (section == null) {
+            return List.of();
+        }
+
+        List<SavedTimer> loaded = new ArrayList<>();
+
+        for (String id : section.getKeys(false)) {
+            long endTimestamp = section.getLong(id + ".end-time");
+            Component message = section.getRichMessage(id + ".message");
+            TimerAudience audience = TimerAudience.EVERYONE;
+
+            try {
+                audience = TimerAudience.parse(section.getString(id + ".audience", "everyone"));
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Invalid audience for saved timer " + id + ", showing to everyone: " + ex.getMessage());
+            }
+
+            if (message != null) {
+                loaded.add(new SavedTimer(id, message, endTimestamp > 0 ? Instant.ofEpochSecond(endTimestamp) : null,
+                                          audience));
+            }
+        }
+
+        return loaded;
+    }
+
+    private void queue(TimerJournal.Entry entry) {
+        pending.add(entry);
+
+        if (pending.size() == 1) {
+            writer.execute(this::writeTimers);
+        }
+    }
+
+    /**
+     * Wait for all writes queued so far to reach the disk.
+     */
+    public void awaitWrites() {
+        try {
+            writer.submit(() -> {}).get();
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, "Failed waiting for pending timer state writes", ex);
+        }
+    }
+
+    private void writeTimers() {
+        List<TimerJournal.Entry> entries;
+        int live;
+
+        synchronized (this) {
+            entries = pending;
+            pending = new ArrayList<>();
+            live = timers.size() + schedules.size();
+        }
+
+        try {
+            journal.append(entries);
+
+            if (journal.getRecordCount() > Math.max(live * 2, MIN_COMPACT_RECORDS)) {
+                compact();
+            }
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Could not save timer state", ex);
+        }
+    }
+
+    /**
+     * Rewrite the journal as a snapshot of the in-memory state.
+     */
+    private void compact() throws IOException {
+        List<TimerJournal.Entry> snapshot = new ArrayList<>();
+
+        synchronized (this) {
+            timers.values().forEach(timer -> snapshot.add(new TimerJournal.Save(timer)));
+            schedules.values().forEach(schedule -> snapshot.add(new TimerJournal.Schedule(schedule)));
+
+            if (style != null) {
+                snapshot.add(new TimerJournal.Style(style));
+            }
+
+            // Drain anything still pending into the snapshot. The maps already reflect it, so replaying it again
+            // after the snapshot changes nothing, but nothing queued before this point can be lost by the rewrite.
+            // Anything queued after it starts a new write, which runs once the compaction is done.
+            snapshot.addAll(pending);
+            pending = new ArrayList<>();
+        }
+
+        journal.compact(snapshot);
+    }
+
+    private void writeConfig() {
+        String contents;
+
+        synchronized (this) {
+            contents = pendingConfig;
+            pendingConfig = null;
+        }
+
+        if (contents != null) {
+            write(configFile, contents);
+        }
+    }
+
+    private void write(Path file, String contents) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contents.getBytes(StandardCharsets.UTF_8));
+
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Could not save " + file.getFileName(), ex);
+        }
+    }
+
+    /**
+     * Persisted state of a timer.
+     *
+     * @param id The id of the timer.
+     * @param message The timer message.
+     * @param endTime The time the timer ends, or null for an infinite timer.
+     * @param audience The players the timer is shown to.
+     * @param paused The time left on a paused countdown, or null if the timer isn't paused.
+     */
+    public record SavedTimer(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                             @NotNull TimerAudience audience, @Nullable Duration paused) {
+        public SavedTimer(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                          @NotNull TimerAudience audience) {
+            this(id, message, endTime, audience, null);
+        }
+    }
+
+    /**
+     * Persisted state of a schedule.
+     *
+     * @param schedule The schedule.
+     * @param lastOccurrence The last occurrence the schedule has handled, or null if it hasn't handled any yet.
+     */
+    public record SavedSchedule(@NotNull TimerSchedule schedule, @Nullable Instant lastOccurrence) {
+    }
+
+    /**
+     * Persisted boss bar style.
+     *
+     * @param color The boss bar color.
+     * @param overlay The boss bar overlay.
+     */
+    public record SavedStyle(@NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.leontg77.timer.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transport which delivers messages directly to other transports on the same {@link Hub}, for running several nodes
+ * in one process such as in tests and benchmarks.
+ */
+public final class InMemoryTransport implements SyncTransport {
+    private final Hub hub;
+    private volatile Consumer<byte[]> receiver = null;
+
+    public InMemoryTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void start(@NotNull Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        hub.transports.add(this);
+    }
+
+    @Override
+    public void send(byte @NotNull [] message) {
+        for (InMemoryTransport transport : hub.transports) {
+            Consumer<byte[]> target = transport.receiver;
+
+            if (transport != this && target != null) {
+                target.accept(message.clone());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        hub.transports.remove(this);
+        receiver = null;
+    }
+
+    /**
+     * A set of connected in-memory transports.
+     */
+    public static final class Hub {
+        private final List<InMemoryTransport> transports = new CopyOnWriteArrayList<>();
+    }
+}
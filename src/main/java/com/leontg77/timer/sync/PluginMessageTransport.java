@@ -0,0 +1,120 @@
+package com.leontg77.timer.sync;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Transport over proxy plugin messaging, using the BungeeCord {@code Forward} subchannel which both BungeeCord and
+ * Velocity support.
+ * <br>Plugin messages can only be sent through an online player, so messages sent while the server is empty are
+ * held until someone joins, keeping only the most recent ones.
+ */
+public final class PluginMessageTransport implements SyncTransport, PluginMessageListener, Listener {
+    private static final String CHANNEL = "BungeeCord";
+    private static final String SUBCHANNEL = "TimerSync";
+    private static final int MAX_HELD = 64;
+    private static final int MAX_MESSAGE_SIZE = 0xFFFF;
+
+    private final Plugin plugin;
+    private final Deque<byte[]> held = new ArrayDeque<>();
+    private volatile Consumer<byte[]> receiver = null;
+
+    public PluginMessageTransport(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void start(@NotNull Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @Override
+    public void send(byte @NotNull [] message) {
+        if (message.length > MAX_MESSAGE_SIZE) {
+            plugin.getLogger().warning("Timer sync message of " + message.length + " bytes is too large to forward");
+            return;
+        }
+
+        Player carrier = plugin.getServer().getOnlinePlayers().stream().findFirst().orElse(null);
+
+        if (carrier == null) {
+            synchronized (held) {
+                if (held.size() == MAX_HELD) {
+                    held.pollFirst();
+                }
+
+                held.offerLast(message);
+            }
+            return;
+        }
+
+        forward(carrier, message);
+    }
+
+    @Override
+    public void close() {
+        receiver = null;
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, CHANNEL, this);
+        HandlerList.unregisterAll(this);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+
+        synchronized (held) {
+            byte[] message;
+
+            while ((message = held.pollFirst()) != null) {
+                forward(player, message);
+            }
+        }
+    }
+
+    @Override
+    public void onPluginMessageReceived(@NotNull String channel, @NotNull Player player, byte @NotNull [] data) {
+        Consumer<byte[]> target = receiver;
+
+        if (!CHANNEL.equals(channel) || target == null) {
+            return;
+        }
+
+        ByteArrayDataInput in = ByteStreams.newDataInput(data);
+
+        if (!SUBCHANNEL.equals(in.readUTF())) {
+            return;
+        }
+
+        byte[] message = new byte[in.readUnsignedShort()];
+        in.readFully(message);
+        target.accept(message);
+    }
+
+    private void forward(Player carrier, byte[] message) {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        out.writeUTF("Forward");
+        out.writeUTF("ALL");
+        out.writeUTF(SUBCHANNEL);
+        out.writeShort(message.length);
+        out.write(message);
+
+        carrier.sendPluginMessage(plugin, CHANNEL, out.toByteArray());
+    }
+}
@@ -0,0 +1,145 @@
+package com.leontg77.timer.sync;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * A timer state change sent between servers.
+ * <br>Changes to a timer are ordered by sequence number, with the origin node breaking ties, so every node applies
+ * the same last change whatever order the messages arrive in.
+ * <br>An encoded message is at most {@link #MAX_SIZE} bytes, which every transport can carry in one piece.
+ *
+ * @param type The kind of change.
+ * @param origin The node which made the change.
+ * @param sequence The hybrid sequence number of the change, per timer.
+ * @param timerId The id of the timer.
+ * @param endTime The authoritative end time in epoch milliseconds, or {@link Long#MIN_VALUE} for infinite timers.
+ *                Used by {@link Type#START} and {@link Type#ADJUST}, and holds the frozen time left in milliseconds
+ *                for {@link Type#PAUSE}.
+ * @param message The timer message as MiniMessage, only used by {@link Type#START}.
+ * @param audience The serialized audience, used by {@link Type#START} and {@link Type#AUDIENCE}.
+ */
+public record SyncMessage(@NotNull Type type, @NotNull UUID origin, long sequence, @NotNull String timerId,
+                          long endTime, @Nullable String message, @Nullable String audience) {
+    public static final int MAX_SIZE = 0xFFFF;
+    private static final byte VERSION = 1;
+
+    public enum Type {
+        /**
+         * A timer was started or restarted with a new end time.
+         */
+        START,
+        /**
+         * A timer was cancelled.
+         */
+        CANCEL,
+        /**
+         * A running timer changed audience.
+         */
+        AUDIENCE,
+        /**
+         * A running countdown was paused.
+         */
+        PAUSE,
+        /**
+         * A running countdown was resumed or given a new end time.
+         */
+        ADJUST;
+
+        private static final Type[] VALUES = values();
+    }
+
+    /**
+     * Check whether this change supersedes another change to the same timer.
+     *
+     * @param sequence The sequence number of the other change.
+     * @param origin The origin of the other change.
+     * @return True if this change is newer.
+     */
+    public boolean isNewerThan(long sequence, @NotNull UUID origin) {
+        return this.sequence != sequence ? this.sequence > sequence : this.origin.compareTo(origin) > 0;
+    }
+
+    /**
+     * Encode the message in its compact binary form.
+     *
+     * @return The encoded message.
+     * @throws IllegalArgumentException If the message is larger than {@link #MAX_SIZE}.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(type.ordinal());
+            out.writeLong(origin.getMostSignificantBits());
+            out.writeLong(origin.getLeastSignificantBits());
+            out.writeLong(sequence);
+            out.writeUTF(timerId);
+
+            switch (type) {
+                case START -> {
+                    out.writeLong(endTime);
+                    out.writeUTF(message != null ? message : "");
+                    out.writeUTF(audience != null ? audience : "everyone");
+                }
+                case AUDIENCE -> out.writeUTF(audience != null ? audience : "everyone");
+                case PAUSE, ADJUST -> out.writeLong(endTime);
+                case CANCEL -> {
+                }
+            }
+        } catch (UTFDataFormatException ex) {
+            throw new IllegalArgumentException("Timer sync message is too large to send", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (bytes.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("Timer sync message of " + bytes.size() + " bytes is too large to send");
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a message encoded by {@link #encode()}.
+     *
+     * @param data The encoded message.
+     * @return The message.
+     * @throws IOException If the data isn't a valid message.
+     */
+    public static SyncMessage decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+        if (in.readByte() != VERSION) {
+            throw new IOException("Unsupported sync message version");
+        }
+
+        int ordinal = in.readUnsignedByte();
+
+        if (ordinal >= Type.VALUES.length) {
+            throw new IOException("Unknown sync message type " + ordinal);
+        }
+
+        Type type = Type.VALUES[ordinal];
+        UUID origin = new UUID(in.readLong(), in.readLong());
+        long sequence = in.readLong();
+        String timerId = in.readUTF();
+
+        return switch (type) {
+            case START -> new SyncMessage(type, origin, sequence, timerId, in.readLong(), in.readUTF(), in.readUTF());
+            case AUDIENCE -> new SyncMessage(type, origin, sequence, timerId, Long.MIN_VALUE, null, in.readUTF());
+            case CANCEL -> new SyncMessage(type, origin, sequence, timerId, Long.MIN_VALUE, null, null);
+            case PAUSE, ADJUST -> new SyncMessage(type, origin, sequence, timerId, in.readLong(), null, null);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.leontg77.timer.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded {@link SyncMessage SyncMessages} between servers.
+ * <br>Transports deliver at most once and in no particular order, the sequence numbers in the messages take care of
+ * ordering.
+ */
+public interface SyncTransport {
+    /**
+     * Start the transport.
+     *
+     * @param receiver Called with every message received from another server, on any thread.
+     */
+    void start(@NotNull Consumer<byte[]> receiver);
+
+    /**
+     * Send a message to every other server.
+     *
+     * @param message The encoded message.
+     */
+    void send(byte @NotNull [] message);
+
+    /**
+     * Stop the transport and release its resources.
+     */
+    void close();
+}
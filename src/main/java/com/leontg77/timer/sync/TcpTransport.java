@@ -0,0 +1,222 @@
+package com.leontg77.timer.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transport over plain TCP between servers on the same host, listening on loopback, or on a private network.
+ * <br>Every node listens on its own port and sends each message to every peer as a length prefixed frame. Sends are
+ * queued on a single background thread, and a peer which can't be reached is retried on the next message.
+ * <br>Every frame carries an HMAC-SHA256 of the message keyed with a secret shared by all nodes. A connection sending
+ * a frame with a wrong MAC is dropped, so only nodes knowing the secret can change timers. The number of incoming
+ * connections is capped, each one holding a thread.
+ */
+public final class TcpTransport implements SyncTransport {
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_FRAME_SIZE = 1 << 16;
+    private static final int MAX_CONNECTIONS = 16;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_SIZE = 32;
+
+    private final Logger logger;
+    private final InetSocketAddress bind;
+    private final List<Peer> peers;
+    private final SecretKeySpec key;
+    private final ExecutorService sender;
+    private final Semaphore connections = new Semaphore(MAX_CONNECTIONS);
+    private ServerSocket server = null;
+
+    /**
+     * Create a transport.
+     *
+     * @param logger The logger for connection errors.
+     * @param bind The address to listen on.
+     * @param peers The addresses of the other nodes.
+     * @param secret The secret shared by every node, used to authenticate frames.
+     * @throws IllegalArgumentException If the secret is empty.
+     */
+    public TcpTransport(Logger logger, InetSocketAddress bind, List<InetSocketAddress> peers, @NotNull String secret) {
+        if (secret.isEmpty()) {
+            throw new IllegalArgumentException("The TCP sync transport requires a secret");
+        }
+
+        this.logger = logger;
+        this.bind = bind;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        this.peers = peers.stream().map(Peer::new).toList();
+        this.sender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Timer-Sync-Send");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start(@NotNull Consumer<byte[]> receiver) {
+        try {
+            server = new ServerSocket();
+            server.bind(bind);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Failed to listen for timer sync on " + bind, ex);
+            return;
+        }
+
+        Thread.ofPlatform().daemon().name("Timer-Sync-Accept").start(() -> accept(receiver));
+    }
+
+    @Override
+    public void send(byte @NotNull [] message) {
+        if (sender.isShutdown()) {
+            return;
+        }
+
+        sender.execute(() -> peers.forEach(peer -> peer.send(message)));
+    }
+
+    @Override
+    public void close() {
+        sender.execute(() -> peers.forEach(Peer::close));
+        sender.shutdown();
+
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void accept(Consumer<byte[]> receiver) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+
+                if (!connections.tryAcquire()) {
+                    logger.warning("Too many timer sync connections, rejecting " + socket.getRemoteSocketAddress());
+                    socket.close();
+                    continue;
+                }
+
+                Thread.ofPlatform().daemon().name("Timer-Sync-Receive").start(() -> {
+                    try {
+                        receive(socket, receiver);
+                    } finally {
+                        connections.release();
+                    }
+                });
+            } catch (IOException ex) {
+                if (!server.isClosed()) {
+                    logger.log(Level.WARNING, "Failed to accept timer sync connection", ex);
+                }
+            }
+        }
+    }
+
+    private void receive(Socket socket, Consumer<byte[]> receiver) {
+        Mac mac = createMac();
+        byte[] expected = new byte[MAC_SIZE];
+
+        try (socket; DataInputStream in = new DataInputStream(socket.getInputStream())) {
+            while (true) {
+                int length = in.readInt();
+
+                if (length <= 0 || length > MAX_FRAME_SIZE) {
+                    throw new IOException("Invalid frame length " + length);
+                }
+
+                in.readFully(expected);
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+
+                if (!MessageDigest.isEqual(expected, mac.doFinal(frame))) {
+                    logger.warning("Dropping timer sync connection from " + socket.getRemoteSocketAddress()
+                                           + " with an invalid MAC, check that sync.secret matches on every server");
+                    return;
+                }
+
+                receiver.accept(frame);
+            }
+        } catch (IOException ignored) {
+            // Peer disconnected, it reconnects when it next has something to send.
+        }
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    /**
+     * Outgoing connection to another node.
+     */
+    private final class Peer {
+        private final InetSocketAddress address;
+        private final Mac mac = createMac();
+        private Socket socket = null;
+        private DataOutputStream out = null;
+
+        private Peer(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        private void send(byte[] message) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    if (socket == null) {
+                        socket = new Socket();
+                        socket.setTcpNoDelay(true);
+                        socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                        out = new DataOutputStream(socket.getOutputStream());
+                    }
+
+                    out.writeInt(message.length);
+                    out.write(mac.doFinal(message));
+                    out.write(message);
+                    out.flush();
+                    return;
+                } catch (IOException ex) {
+                    close();
+
+                    if (attempt == 1) {
+                        logger.fine("Failed to send timer sync message to " + address + ": " + ex.getMessage());
+                    }
+                }
+            }
+        }
+
+        private void close() {
+            try {
+                if (socket != null) {
+                    socket.close();
+                }
+            } catch (IOException ignored) {
+            }
+
+            socket = null;
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.leontg77.timer.sync;
+
+import com.leontg77.timer.audience.TimerAudience;
+import com.leontg77.timer.event.TimerEndEvent;
+import com.leontg77.timer.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps timers in step across servers.
+ * <br>Every local change is sent once as a {@link SyncMessage} carrying the authoritative end time, and remote changes
+ * are applied when they're newer than the last change seen for that timer, so all nodes converge on the same deadline
+ * without any per tick traffic.
+ * <br>Sequence numbers are hybrid, the wall clock millis shifted up with a counter in the low bits. A restarted node
+ * therefore carries on above the sequences it sent before, rather than counting from 1 again and having every change
+ * dropped by peers until it catches up.
+ * <br>The version of a timer is forgotten once it's cancelled or ends, so the map only holds running timers.
+ */
+public final class TimerSync implements Listener {
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final int COUNTER_BITS = 16;
+
+    private final Logger logger;
+    private final TaskScheduler scheduler;
+    private final SyncTransport transport;
+    private final Target target;
+    private final UUID nodeId = UUID.randomUUID();
+    private final Map<String, Version> versions = new HashMap<>();
+
+    public TimerSync(Logger logger, TaskScheduler scheduler, SyncTransport transport, Target target) {
+        this.logger = logger;
+        this.scheduler = scheduler;
+        this.transport = transport;
+        this.target = target;
+    }
+
+    public void start() {
+        transport.start(this::receive);
+    }
+
+    public void close() {
+        transport.close();
+        HandlerList.unregisterAll(this);
+    }
+
+    /**
+     * Check that a timer start can be announced, so it can be refused before the timer is started locally rather than
+     * running on this server only.
+     *
+     * @param id The id of the timer.
+     * @param message The timer message.
+     * @param audience The players the timer is shown to.
+     * @throws IllegalArgumentException If the change is too large to send.
+     */
+    public void checkStart(@NotNull String id, @NotNull Component message, @NotNull TimerAudience audience) {
+        new SyncMessage(SyncMessage.Type.START, nodeId, 0, id, Long.MIN_VALUE, MINI_MESSAGE.serialize(message),
+                        audience.serialize()).encode();
+    }
+
+    /**
+     * Announce that a timer was started locally.
+     *
+     * @param id The id of the timer.
+     * @param message The timer message.
+     * @param endTime The time the timer ends, or null for an infinite timer.
+     * @param audience The players the timer is shown to.
+     */
+    public void publishStart(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                             @NotNull TimerAudience audience) {
+        publish(SyncMessage.Type.START, id, endTime != null ? endTime.toEpochMilli() : Long.MIN_VALUE,
+                MINI_MESSAGE.serialize(message), audience.serialize());
+    }
+
+    /**
+     * Announce that a timer was cancelled locally.
+     *
+     * @param id The id of the timer.
+     */
+    public void publishCancel(@NotNull String id) {
+        publish(SyncMessage.Type.CANCEL, id, Long.MIN_VALUE, null, null);
+
+        synchronized (versions) {
+            versions.remove(id);
+        }
+    }
+
+    /**
+     * Announce that a timer's audience was changed locally.
+     *
+     * @param id The id of the timer.
+     * @param audience The new audience.
+     */
+    public void publishAudience(@NotNull String id, @NotNull TimerAudience audience) {
+        publish(SyncMessage.Type.AUDIENCE, id, Long.MIN_VALUE, null, audience.serialize());
+    }
+
+    /**
+     * Announce that a countdown was paused locally.
+     *
+     * @param id The id of the timer.
+     * @param remaining The time left when it was paused.
+     */
+    public void publishPause(@NotNull String id, @NotNull Duration remaining) {
+        publish(SyncMessage.Type.PAUSE, id, remaining.toMillis(), null, null);
+    }
+
+    /**
+     * Announce that a countdown was resumed or given a new end time locally.
+     *
+     * @param id The id of the timer.
+     * @param endTime The new end time.
+     */
+    public void publishAdjust(@NotNull String id, @NotNull Instant endTime) {
+        publish(SyncMessage.Type.ADJUST, id, endTime.toEpochMilli(), null, null);
+    }
+
+    private void publish(SyncMessage.Type type, String id, long endTime, @Nullable String message,
+                         @Nullable String audience) {
+        SyncMessage sync;
+
+        synchronized (versions) {
+            Version previous = versions.get(id);
+            long sequence = Math.max(previous != null ? previous.sequence + 1 : 0,
+                                     System.currentTimeMillis() << COUNTER_BITS);
+            versions.put(id, new Version(sequence, nodeId));
+            sync = new SyncMessage(type, nodeId, sequence, id, endTime, message, audience);
+        }
+
+        transport.send(sync.encode());
+    }
+
+    private void receive(byte[] data) {
+        SyncMessage sync;
+
+        try {
+            sync = SyncMessage.decode(data);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Ignoring invalid timer sync message", ex);
+            return;
+        }
+
+        if (sync.origin().equals(nodeId)) {
+            return;
+        }
+
+        synchronized (versions) {
+            Version current = versions.get(sync.timerId());
+
+            if (current != null && !sync.isNewerThan(current.sequence, current.origin)) {
+                return;
+            }
+
+            versions.put(sync.timerId(), new Version(sync.sequence(), sync.origin()));
+        }
+
+        scheduler.runLater(() -> apply(sync), 1L);
+    }
+
+    private void apply(SyncMessage sync) {
+        synchronized (versions) {
+            Version current = versions.get(sync.timerId());
+
+            // A newer change was made or received while this one was waiting to be applied.
+            if (current == null || current.sequence != sync.sequence() || !current.origin.equals(sync.origin())) {
+                return;
+            }
+        }
+
+        try {
+            switch (sync.type()) {
+                case START -> target.start(sync.timerId(), MINI_MESSAGE.deserialize(sync.message()),
+                                           sync.endTime() != Long.MIN_VALUE ? Instant.ofEpochMilli(sync.endTime())
+                                                                            : null,
+                                           TimerAudience.parse(sync.audience()));
+                case CANCEL -> {
+                    target.cancel(sync.timerId());
+
+                    synchronized (versions) {
+                        versions.remove(sync.timerId(), new Version(sync.sequence(), sync.origin()));
+                    }
+                }
+                case AUDIENCE -> target.setAudience(sync.timerId(), TimerAudience.parse(sync.audience()));
+                case PAUSE -> target.pause(sync.timerId(), Duration.ofMillis(sync.endTime()));
+                case ADJUST -> target.adjust(sync.timerId(), Instant.ofEpochMilli(sync.endTime()));
+            }
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, "Failed to apply synced change to timer " + sync.timerId(), ex);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTimerEnd(TimerEndEvent event) {
+        if (event.getReason() != TimerEndEvent.Reason.ENDED) {
+            return;
+        }
+
+        synchronized (versions) {
+            versions.remove(event.getId());
+        }
+    }
+
+    /**
+     * Applies changes received from other servers, without announcing them again.
+     */
+    public interface Target {
+        void start(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                   @NotNull TimerAudience audience);
+
+        void cancel(@NotNull String id);
+
+        void setAudience(@NotNull String id, @NotNull TimerAudience audience);
+
+        void pause(@NotNull String id, @NotNull Duration remaining);
+
+        void adjust(@NotNull String id, @NotNull Instant endTime);
+    }
+
+    private record Version(long sequence, UUID origin) {
+    }
+}
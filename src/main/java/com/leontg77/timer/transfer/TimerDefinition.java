@@ -0,0 +1,25 @@
+package com.leontg77.timer.transfer;
+
+import com.leontg77.timer.audience.TimerAudience;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * A timer read from an import file or written to an export file.
+ * <br>Every timer shares one boss bar style, so the color and overlay set that shared style.
+ *
+ * @param id The id of the timer.
+ * @param message The timer message.
+ * @param endTime The time the timer ends, or null for an infinite timer.
+ * @param audience The players the timer is shown to.
+ * @param color The boss bar color, or null to keep the current color.
+ * @param overlay The boss bar overlay, or null to keep the current overlay.
+ */
+public record TimerDefinition(@NotNull String id, @NotNull Component message, @Nullable Instant endTime,
+                              @NotNull TimerAudience audience, @Nullable BossBar.Color color,
+                              @Nullable BossBar.Overlay overlay) {
+}
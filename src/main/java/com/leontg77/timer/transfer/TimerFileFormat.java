@@ -0,0 +1,231 @@
+package com.leontg77.timer.transfer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.leontg77.timer.audience.TimerAudience;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File formats for importing and exporting timers, one timer per line.
+ * <br>Both formats have the fields {@code id}, {@code message} (MiniMessage), {@code end} (an ISO-8601 instant or unix
+ * timestamp, empty for an infinite timer), {@code audience}, {@code color} and {@code style}. Only the id and message
+ * are required.
+ */
+public enum TimerFileFormat {
+    /**
+     * JSON Lines, one JSON object per line.
+     */
+    JSON_LINES(".jsonl") {
+        @Override
+        public TimerDefinition parse(@NotNull String line) {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            return create(getString(json, "id"), getString(json, "message"), getString(json, "end"),
+                          getString(json, "audience"), getString(json, "color"), getString(json, "style"));
+        }
+
+        @Override
+        public String format(@NotNull TimerDefinition timer) {
+            JsonObject json = new JsonObject();
+            String[] fields = fields(timer);
+
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (!fields[i].isEmpty()) {
+                    json.addProperty(FIELDS[i], fields[i]);
+                }
+            }
+
+            return json.toString();
+        }
+
+        private static @Nullable String getString(JsonObject json, String key) {
+            JsonElement element = json.get(key);
+            return element != null && !element.isJsonNull() ? element.getAsString() : null;
+        }
+    },
+    /**
+     * Comma separated values, with an optional header line and fields quoted as needed.
+     */
+    CSV(".csv") {
+        @Override
+        public @Nullable String header() {
+            return String.join(",", FIELDS);
+        }
+
+        @Override
+        public TimerDefinition parse(@NotNull String line) {
+            List<String> fields = split(line);
+
+            while (fields.size() < FIELDS.length) {
+                fields.add("");
+            }
+
+            return create(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4), fields.get(5));
+        }
+
+        @Override
+        public String format(@NotNull TimerDefinition timer) {
+            StringBuilder line = new StringBuilder();
+
+            for (String field : fields(timer)) {
+                if (!line.isEmpty()) {
+                    line.append(',');
+                }
+
+                if (field.contains(",") || field.contains("\"") || field.startsWith(" ") || field.endsWith(" ")) {
+                    line.append('"').append(field.replace("\"", "\"\"")).append('"');
+                } else {
+                    line.append(field);
+                }
+            }
+
+            return line.toString();
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quote");
+            }
+
+            fields.add(field.toString());
+            return fields;
+        }
+    };
+
+    private static final String[] FIELDS = {"id", "message", "end", "audience", "color", "style"};
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    private final String extension;
+
+    TimerFileFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Get the header line written at the top of exported files.
+     *
+     * @return The header, or null if the format has none.
+     */
+    public @Nullable String header() {
+        return null;
+    }
+
+    /**
+     * Parse one line.
+     *
+     * @param line The line.
+     * @return The timer.
+     * @throws IllegalArgumentException If the line isn't a valid timer.
+     */
+    public abstract TimerDefinition parse(@NotNull String line);
+
+    /**
+     * Format one timer as a line.
+     *
+     * @param timer The timer.
+     * @return The line, without a line separator.
+     */
+    public abstract String format(@NotNull TimerDefinition timer);
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Get the format of a file from its extension.
+     *
+     * @param fileName The file name.
+     * @return The format, or null if the extension isn't supported.
+     */
+    public static @Nullable TimerFileFormat of(@NotNull String fileName) {
+        for (TimerFileFormat format : values()) {
+            if (fileName.toLowerCase().endsWith(format.extension)) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+
+    private static TimerDefinition create(@Nullable String id, @Nullable String message, @Nullable String end,
+                                          @Nullable String audience, @Nullable String color, @Nullable String style) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Missing id");
+        }
+
+        if (message == null) {
+            throw new IllegalArgumentException("Missing message");
+        }
+
+        return new TimerDefinition(id.trim(), MINI_MESSAGE.deserialize(message), parseEnd(end),
+                                   isEmpty(audience) ? TimerAudience.EVERYONE : TimerAudience.parse(audience.trim()),
+                                   isEmpty(color) ? null : parseName(BossBar.Color.NAMES.value(color.trim()), color),
+                                   isEmpty(style) ? null : parseName(BossBar.Overlay.NAMES.value(style.trim()), style));
+    }
+
+    private static String[] fields(TimerDefinition timer) {
+        return new String[] {
+                timer.id(),
+                MINI_MESSAGE.serialize(timer.message()),
+                timer.endTime() != null ? timer.endTime().toString() : "",
+                timer.audience().serialize(),
+                timer.color() != null ? BossBar.Color.NAMES.key(timer.color()) : "",
+                timer.overlay() != null ? BossBar.Overlay.NAMES.key(timer.overlay()) : ""
+        };
+    }
+
+    private static @Nullable Instant parseEnd(@Nullable String end) {
+        if (isEmpty(end)) {
+            return null;
+        }
+
+        String trimmed = end.trim();
+        return trimmed.chars().allMatch(Character::isDigit) ? Instant.ofEpochSecond(Long.parseLong(trimmed))
+                                                            : Instant.parse(trimmed);
+    }
+
+    private static <T> T parseName(@Nullable T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown style " + name);
+        }
+
+        return value;
+    }
+
+    private static boolean isEmpty(@Nullable String value) {
+        return value == null || value.isBlank();
+    }
+}
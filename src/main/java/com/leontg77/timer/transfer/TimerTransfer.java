@@ -0,0 +1,162 @@
+package com.leontg77.timer.transfer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams timers from and to import and export files.
+ * <br>Files are read and written a line at a time, so this does blocking I/O and should be called off the main
+ * thread. Applying an import is left to the caller, so every timer can be started in one step.
+ */
+public final class TimerTransfer {
+    private static final int MAX_ERRORS = 10;
+
+    private TimerTransfer() {
+    }
+
+    /**
+     * Resolve a file name to a file directly inside a folder.
+     *
+     * @param folder The folder.
+     * @param fileName The file name.
+     * @return The file.
+     * @throws IllegalArgumentException If the name would leave the folder, or isn't a supported format.
+     */
+    public static Path resolve(@NotNull Path folder, @NotNull String fileName) {
+        Path file = folder.resolve(fileName).normalize();
+
+        if (!folder.normalize().equals(file.getParent())) {
+            throw new IllegalArgumentException("Files must be directly in the plugin folder");
+        }
+
+        if (TimerFileFormat.of(fileName) == null) {
+            throw new IllegalArgumentException("Files must end with .jsonl or .csv");
+        }
+
+        return file;
+    }
+
+    /**
+     * Read the timers in a file.
+     * <br>Invalid lines are skipped and reported, as are timers which have already ended. If an id is in the file more
+     * than once, the last line wins.
+     *
+     * @param file The file.
+     * @return The result.
+     * @throws IOException If the file can't be read.
+     */
+    public static ImportResult read(@NotNull Path file) throws IOException {
+        TimerFileFormat format = TimerFileFormat.of(file.getFileName().toString());
+
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported file " + file.getFileName());
+        }
+
+        Map<String, TimerDefinition> timers = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        Instant now = Instant.now();
+        int expired = 0;
+        int failed = 0;
+        int number = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                number++;
+
+                if (line.isBlank() || line.equals(format.header())) {
+                    continue;
+                }
+
+                try {
+                    TimerDefinition timer = format.parse(line);
+
+                    if (timer.endTime() != null && !timer.endTime().isAfter(now)) {
+                        expired++;
+                        continue;
+                    }
+
+                    timers.remove(timer.id());
+                    timers.put(timer.id(), timer);
+                } catch (RuntimeException ex) {
+                    failed++;
+
+                    if (errors.size() < MAX_ERRORS) {
+                        errors.add("Line " + number + ": " + describe(ex));
+                    }
+                }
+            }
+        }
+
+        return new ImportResult(List.copyOf(timers.values()), expired, failed, List.copyOf(errors));
+    }
+
+    /**
+     * Write timers to a file, replacing it.
+     * <br>The file is written to a temporary file first and then moved into place, so a failed export never leaves a
+     * partial file behind.
+     *
+     * @param file The file.
+     * @param timers The timers.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(@NotNull Path file, @NotNull Collection<TimerDefinition> timers) throws IOException {
+        TimerFileFormat format = TimerFileFormat.of(file.getFileName().toString());
+
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported file " + file.getFileName());
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            if (format.header() != null) {
+                writer.write(format.header());
+                writer.newLine();
+            }
+
+            for (TimerDefinition timer : timers) {
+                writer.write(format.format(timer));
+                writer.newLine();
+            }
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String describe(RuntimeException ex) {
+        if (ex instanceof DateTimeParseException) {
+            return "Invalid end time";
+        }
+
+        return ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+    }
+
+    /**
+     * The timers read from an import file.
+     *
+     * @param timers The valid timers which haven't ended yet, in file order.
+     * @param expired The number of timers skipped because they had already ended.
+     * @param failed The number of invalid lines.
+     * @param errors Descriptions of the first few invalid lines.
+     */
+    public record ImportResult(@NotNull List<TimerDefinition> timers, int expired, int failed,
+                               @NotNull List<String> errors) {
+    }
+}